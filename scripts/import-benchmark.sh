@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+# Measures import throughput and heap usage of POST /app/employee/import for a generated file.
+#
+# Generates ROWS employees in the given format, starts the packaged application with a fixed heap and streams
+# the file to the import endpoint. While it runs, used heap is sampled from /actuator/metrics every 100 ms;
+# GC activity is logged to target/import-gc.log. Reports wall-clock time, rows per second and peak heap.
+# With the dev profile the database is an H2 file under target, so the imported rows stay out of the heap
+# being measured.
+#
+# Usage: scripts/import-benchmark.sh [rows] [format] [heap] [profiles]
+#   rows      number of data rows (default 1000000)
+#   format    CSV or NDJSON (default NDJSON)
+#   heap      -Xmx of the application (default 256m, well below the size of the file)
+#   profiles  Spring profiles to start with (default dev, which needs no external database)
+set -euo pipefail
+
+ROWS="${1:-1000000}"
+FORMAT="${2:-NDJSON}"
+HEAP="${3:-256m}"
+PROFILES="${4:-dev}"
+PORT="${PORT:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+REPORT="$TARGET/import-report.txt"
+BASE_URL="http://localhost:$PORT"
+
+cd "$ROOT"
+./mvnw -B -q -DskipTests package
+JAR="$(ls "$TARGET"/*.jar | grep -v -- '-plain' | head -n 1)"
+
+if [ "$FORMAT" = "CSV" ]; then
+    FILE="$TARGET/import-$ROWS.csv"
+    CONTENT_TYPE="text/csv"
+    awk -v rows="$ROWS" 'BEGIN {
+        print "name,salary,hiringDate,role"
+        split("INTERN JUNIOR SENIOR", roles, " ")
+        for (i = 1; i <= rows; i++) {
+            printf "Employee %d,%d.%02d,20%02d-%02d-%02d,%s\n", i, 1000 + i % 9000, i % 100, i % 25, 1 + i % 12, 1 + i % 28, roles[1 + i % 3]
+        }
+    }' > "$FILE"
+else
+    FILE="$TARGET/import-$ROWS.ndjson"
+    CONTENT_TYPE="application/x-ndjson"
+    awk -v rows="$ROWS" 'BEGIN {
+        split("INTERN JUNIOR SENIOR", roles, " ")
+        for (i = 1; i <= rows; i++) {
+            printf "{\"name\":\"Employee %d\",\"salary\":%d.%02d,\"hiringDate\":\"20%02d-%02d-%02d\",\"role\":\"%s\"}\n", i, 1000 + i % 9000, i % 100, i % 25, 1 + i % 12, 1 + i % 28, roles[1 + i % 3]
+        }
+    }' > "$FILE"
+fi
+
+DB_ARGS=()
+if [ "$PROFILES" = "dev" ]; then
+    rm -f "$TARGET"/import-db.*
+    DB_ARGS=(--spring.datasource.url="jdbc:h2:file:$TARGET/import-db")
+fi
+
+java -Xmx"$HEAP" -Xlog:gc:file="$TARGET/import-gc.log" -jar "$JAR" --spring.profiles.active="$PROFILES" --server.port="$PORT" \
+    --logging.level.root=WARN ${DB_ARGS[@]+"${DB_ARGS[@]}"} > "$TARGET/import-app.log" 2>&1 &
+APP_PID=$!
+trap 'kill "$APP_PID" 2> /dev/null || true' EXIT
+
+until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+    kill -0 "$APP_PID" 2> /dev/null || { echo "Application failed to start, see $TARGET/import-app.log"; exit 1; }
+    sleep 0.5
+done
+
+heap_used() {
+    curl -sf "$BASE_URL/actuator/metrics/jvm.memory.used?tag=area:heap" | sed -E 's/.*"value":([0-9.E+]+).*/\1/'
+}
+
+SAMPLES="$TARGET/import-heap.txt"
+heap_used > "$SAMPLES"
+( while kill -0 "$APP_PID" 2> /dev/null; do heap_used >> "$SAMPLES" || true; sleep 0.1; done ) &
+SAMPLER_PID=$!
+
+START=$(date +%s%N)
+RESPONSE="$(curl -sf -X POST -H "Content-Type: $CONTENT_TYPE" --upload-file "$FILE" "$BASE_URL/app/employee/import")"
+END=$(date +%s%N)
+kill "$SAMPLER_PID" 2> /dev/null || true
+
+ELAPSED_MS=$(( (END - START) / 1000000 ))
+ACCEPTED=$(echo "$RESPONSE" | sed -E 's/.*"accepted":([0-9]+).*/\1/')
+REJECTED=$(echo "$RESPONSE" | sed -E 's/.*"rejected":([0-9]+).*/\1/')
+PEAK_MB=$(awk '{ if ($1 + 0 > max) max = $1 + 0 } END { printf "%.1f", max / 1048576 }' "$SAMPLES")
+
+{
+    echo "Import of $ROWS $FORMAT rows ($(du -h "$FILE" | cut -f1)), -Xmx$HEAP, profiles $PROFILES, java $(java -version 2>&1 | head -n 1)"
+    echo "accepted $ACCEPTED, rejected $REJECTED"
+    echo "wall clock $ELAPSED_MS ms, $(( ROWS * 1000 / (ELAPSED_MS > 0 ? ELAPSED_MS : 1) )) rows/s"
+    echo "peak heap used $PEAK_MB MB (sampled every 100 ms, GC log in target/import-gc.log)"
+} | tee "$REPORT"
+echo "Report written to $REPORT"
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Compares cold-start time of the packaged application across startup optimizations.
+#
+# Builds once with the aot and aot-cache profiles (AOT code and the JDK AOT cache are only used when
+# requested at run time), then starts every variant RUNS times with spring.context.exit=onRefresh and
+# reports the wall-clock time from process launch to exit, which is what a short-lived instance pays.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [profiles]
+#   runs      number of starts per variant (default 5)
+#   profiles  base Spring profile to start with (default dev, which needs no external database)
+set -euo pipefail
+
+RUNS="${1:-5}"
+BASE_PROFILE="${2:-dev}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+APP_DIR="$ROOT/target/application"
+REPORT="$ROOT/target/startup-report.txt"
+
+cd "$ROOT"
+./mvnw -B -q -Paot,aot-cache -DskipTests -Daot.profiles="$BASE_PROFILE,lean" package
+
+JAR="$(ls "$APP_DIR"/*.jar | head -n 1)"
+
+measure() {
+    local name="$1"; shift
+    local times=()
+    for _ in $(seq "$RUNS"); do
+        local start end
+        start=$(date +%s%N)
+        java "$@" -Dspring.context.exit=onRefresh -jar "$JAR" --server.port=0 --logging.level.root=WARN > /dev/null
+        end=$(date +%s%N)
+        times+=($(( (end - start) / 1000000 )))
+    done
+    local sorted median min
+    sorted=$(printf '%s\n' "${times[@]}" | sort -n)
+    min=$(echo "$sorted" | head -n 1)
+    median=$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")
+    printf '%-28s median %6d ms   min %6d ms   runs: %s\n' "$name" "$median" "$min" "${times[*]}" | tee -a "$REPORT"
+}
+
+: > "$REPORT"
+echo "Startup time, $RUNS runs per variant, java $(java -version 2>&1 | head -n 1)" | tee -a "$REPORT"
+measure "baseline ($BASE_PROFILE)"   -Dspring.profiles.active="$BASE_PROFILE"
+measure "lean"                       -Dspring.profiles.active="$BASE_PROFILE,lean"
+measure "lean + spring aot"          -Dspring.profiles.active="$BASE_PROFILE,lean" -Dspring.aot.enabled=true
+measure "lean + spring aot + cache"  -Dspring.profiles.active="$BASE_PROFILE,lean" -Dspring.aot.enabled=true -XX:AOTCache="$APP_DIR/app.aot"
+echo "Report written to $REPORT"
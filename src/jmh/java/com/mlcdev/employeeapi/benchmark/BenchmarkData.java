@@ -0,0 +1,46 @@
+package com.mlcdev.employeeapi.benchmark;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.model.Employee;
+import com.mlcdev.employeeapi.model.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee(long id){
+        return Employee.builder()
+                .id(id)
+                .name("Employee " + id)
+                .salary(new BigDecimal("4500.50"))
+                .hiringDate(LocalDate.of(2023, 5, 20))
+                .role(Role.values()[(int) (id % Role.values().length)])
+                .version(0L)
+                .build();
+    }
+
+    static EmployeeDTO dto(long id){
+        return EmployeeDTO.builder()
+                .id(id)
+                .name("Employee " + id)
+                .salary(new BigDecimal("4500.50"))
+                .hiringDate(LocalDate.of(2023, 5, 20))
+                .role(Role.values()[(int) (id % Role.values().length)])
+                .version(0L)
+                .build();
+    }
+
+    static List<EmployeeDTO> dtos(int size){
+        List<EmployeeDTO> dtos = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            dtos.add(dto(i));
+        }
+        return dtos;
+    }
+}
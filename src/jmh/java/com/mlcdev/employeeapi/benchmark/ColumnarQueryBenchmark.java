@@ -0,0 +1,117 @@
+package com.mlcdev.employeeapi.benchmark;
+
+import com.mlcdev.employeeapi.EmployeeapiApplication;
+import com.mlcdev.employeeapi.columnar.ColumnarEmployeeStore;
+import com.mlcdev.employeeapi.columnar.ColumnarEmployeeStoreListener;
+import com.mlcdev.employeeapi.columnar.ColumnarMemoryReport;
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.dto.EmployeeFilter;
+import com.mlcdev.employeeapi.model.Role;
+import com.mlcdev.employeeapi.repository.EmployeeRepository;
+import com.mlcdev.employeeapi.repository.EmployeeSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares list queries served by {@link ColumnarEmployeeStore} with the JPA projection path on the same
+ * H2 table. The query cache is turned off so every JPA call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ColumnarQueryBenchmark {
+
+    public enum Scenario {
+        ROLE_SORTED_BY_NAME(new EmployeeFilter(Role.SENIOR, null, null, null, null, null), PageRequest.of(0, 20, Sort.by("name"))),
+        SALARY_RANGE_SORTED_BY_SALARY(new EmployeeFilter(null, new BigDecimal("3000"), new BigDecimal("3100"), null, null, null),
+                PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "salary"))),
+        HIRED_AFTER_DEEP_PAGE(new EmployeeFilter(null, null, null, LocalDate.of(2020, 1, 1), null, null), PageRequest.of(50, 20)),
+        NAME_PREFIX(new EmployeeFilter(null, null, null, null, null, "Employee 12345"), PageRequest.of(0, 20, Sort.by("id")));
+
+        private final EmployeeFilter filter;
+        private final Pageable pageable;
+
+        Scenario(EmployeeFilter filter, Pageable pageable) {
+            this.filter = filter;
+            this.pageable = pageable;
+        }
+    }
+
+    private static final Set<EmployeeField> ALL_FIELDS = EnumSet.allOf(EmployeeField.class);
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param
+    private Scenario scenario;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository repository;
+    private ColumnarEmployeeStore store;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        context = new SpringApplicationBuilder(EmployeeapiApplication.class)
+                .profiles("dev")
+                .properties("spring.main.web-application-type=none", "logging.level.com.mlcdev=WARN", "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false", "employee.columnar.enabled=true")
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("TRUNCATE TABLE tb_employee RESTART IDENTITY");
+        jdbcTemplate.update("insert into tb_employee (id, name, salary, hiring_date, role, version) "
+                + "select x, 'Employee ' || x, 1000 + mod(x, 9000) + mod(x, 100) / 100.0, dateadd(day, mod(x, 9000), date '2000-01-01'), "
+                + "case mod(x, 4) when 0 then 'INTERN' when 1 then 'JUNIOR' when 2 then 'MID_LEVEL' else 'SENIOR' end, 0 "
+                + "from system_range(1, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+        repository = context.getBean(EmployeeRepository.class);
+        store = context.getBean(ColumnarEmployeeStore.class);
+        context.getBean(ColumnarEmployeeStoreListener.class).reload();
+        ColumnarMemoryReport report = store.memoryReport();
+        System.out.printf("Columnar store: %d rows, %d MB (columns %d, names %d, indexes %d, id map %d bytes), %.1f bytes per row%n",
+                report.liveRows(), report.totalBytes() / (1024 * 1024), report.columnBytes(), report.nameBytes(), report.indexBytes(),
+                report.idMapBytes(), report.bytesPerRow());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public Page<EmployeeDTO> jpa(){
+        return repository.findAllProjected(EmployeeSpecifications.matching(scenario.filter), ALL_FIELDS, scenario.pageable);
+    }
+
+    @Benchmark
+    public Page<EmployeeDTO> columnar(){
+        return store.findAll(scenario.filter, ALL_FIELDS, scenario.pageable);
+    }
+}
@@ -0,0 +1,50 @@
+package com.mlcdev.employeeapi.benchmark;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.mapper.EmployeeMapper;
+import com.mlcdev.employeeapi.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    private Employee employee;
+    private EmployeeDTO dto;
+
+    @Setup
+    public void setup(){
+        employee = BenchmarkData.employee(1);
+        dto = BenchmarkData.dto(2);
+    }
+
+    @Benchmark
+    public EmployeeDTO toDTO(){
+        return EmployeeMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public Employee toEntity(){
+        return EmployeeMapper.toEntity(dto);
+    }
+
+    @Benchmark
+    public Employee updateEntity(){
+        return EmployeeMapper.updateEntity(dto, employee);
+    }
+}
@@ -0,0 +1,60 @@
+package com.mlcdev.employeeapi.benchmark;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmployeeValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private EmployeeDTO validDto;
+    private EmployeeDTO invalidDto;
+
+    @Setup
+    public void setup(){
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validDto = BenchmarkData.dto(1);
+        invalidDto = BenchmarkData.dto(2);
+        invalidDto.setName(" ");
+        invalidDto.setSalary(null);
+    }
+
+    @TearDown
+    public void tearDown(){
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> validDto(){
+        return validator.validate(validDto);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<EmployeeDTO>> invalidDto(){
+        return validator.validate(invalidDto);
+    }
+}
@@ -0,0 +1,65 @@
+package com.mlcdev.employeeapi.benchmark;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.exception.CustomError;
+import com.mlcdev.employeeapi.exception.ValidationError;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private JsonMapper jsonMapper;
+    private Page<EmployeeDTO> page;
+    private CustomError customError;
+    private ValidationError validationError;
+
+    @Setup
+    public void setup(){
+        jsonMapper = JsonMapper.builder().build();
+        page = new PageImpl<>(BenchmarkData.dtos(pageSize), PageRequest.of(0, pageSize), 10_000);
+        customError = new CustomError(Instant.now(), 404, "Employee with ID: 999 not found", "/app/employee/999");
+        validationError = new ValidationError(Instant.now(), 422, "Invalid Data", "/app/employee");
+        validationError.addError("name", "Name can't be blank");
+        validationError.addError("salary", "The salary must be positive");
+    }
+
+    @Benchmark
+    public byte[] page(){
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] customError(){
+        return jsonMapper.writeValueAsBytes(customError);
+    }
+
+    @Benchmark
+    public byte[] validationError(){
+        return jsonMapper.writeValueAsBytes(validationError);
+    }
+}
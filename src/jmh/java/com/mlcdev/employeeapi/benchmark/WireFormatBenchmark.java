@@ -0,0 +1,87 @@
+package com.mlcdev.employeeapi.benchmark;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode and decode time of a list of employees as JSON and as CBOR. The setup prints the bytes per employee
+ * of a page in each format, raw and gzipped, since the size is what the network sees.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<EmployeeDTO>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    public enum Format {
+        JSON, CBOR
+    }
+
+    @Param({"100", "1000"})
+    private int employees;
+
+    @Param
+    private Format format;
+
+    private ObjectMapper mapper;
+    private List<EmployeeDTO> dtos;
+    private byte[] encoded;
+
+    @Setup
+    public void setup(){
+        mapper = format == Format.JSON ? JsonMapper.builder().build() : CBORMapper.builder().build();
+        dtos = BenchmarkData.dtos(employees);
+        encoded = mapper.writeValueAsBytes(dtos);
+        byte[] page = mapper.writeValueAsBytes(new PageImpl<>(dtos, PageRequest.of(0, employees), 10_000));
+        System.out.printf("%s page of %d employees: %.1f bytes per employee, %.1f gzipped%n",
+                format, employees, (double) page.length / employees, (double) gzip(page).length / employees);
+    }
+
+    @Benchmark
+    public byte[] encode(){
+        return mapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public List<EmployeeDTO> decode(){
+        return mapper.readValue(encoded, EMPLOYEE_LIST);
+    }
+
+    private static byte[] gzip(byte[] bytes){
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,36 @@
+package com.mlcdev.employeeapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+final class EndpointStats {
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean success){
+        latencyMicros.recordValue(Math.max(1, latencyNanos / 1_000));
+        if(!success){
+            errors.increment();
+        }
+    }
+
+    Map<String, Object> toReport(double measuredSeconds){
+        Map<String, Object> report = new LinkedHashMap<>();
+        long count = latencyMicros.getTotalCount();
+        report.put("count", count);
+        report.put("errors", errors.sum());
+        report.put("throughputPerSecond", count / measuredSeconds);
+        report.put("meanMicros", latencyMicros.getMean());
+        report.put("p50Micros", latencyMicros.getValueAtPercentile(50));
+        report.put("p90Micros", latencyMicros.getValueAtPercentile(90));
+        report.put("p99Micros", latencyMicros.getValueAtPercentile(99));
+        report.put("p999Micros", latencyMicros.getValueAtPercentile(99.9));
+        report.put("maxMicros", latencyMicros.getMaxValue());
+        return report;
+    }
+}
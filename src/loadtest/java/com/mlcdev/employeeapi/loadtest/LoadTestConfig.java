@@ -0,0 +1,30 @@
+package com.mlcdev.employeeapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+record LoadTestConfig(String profiles, int seedRows, int requestsPerSecond, Duration warmup, Duration duration,
+                      int findByIdWeight, int findAllWeight, int createWeight, int updateWeight, int deleteWeight,
+                      int pageSize, String label, Path report) {
+
+    static LoadTestConfig fromSystemProperties(){
+        return new LoadTestConfig(
+                System.getProperty("loadtest.profiles", "dev"),
+                Integer.getInteger("loadtest.seed-rows", 100_000),
+                Integer.getInteger("loadtest.rate", 500),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                Integer.getInteger("loadtest.mix.find-by-id", 60),
+                Integer.getInteger("loadtest.mix.find-all", 20),
+                Integer.getInteger("loadtest.mix.create", 10),
+                Integer.getInteger("loadtest.mix.update", 7),
+                Integer.getInteger("loadtest.mix.delete", 3),
+                Integer.getInteger("loadtest.page-size", 20),
+                System.getProperty("loadtest.label", "local"),
+                Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json")));
+    }
+
+    int totalWeight(){
+        return findByIdWeight + findAllWeight + createWeight + updateWeight + deleteWeight;
+    }
+}
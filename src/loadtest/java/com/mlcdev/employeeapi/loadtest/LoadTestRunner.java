@@ -0,0 +1,200 @@
+package com.mlcdev.employeeapi.loadtest;
+
+import com.mlcdev.employeeapi.EmployeeapiApplication;
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.model.Role;
+import com.mlcdev.employeeapi.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts the application on a random port, seeds it and drives an open-model workload at a fixed arrival rate.
+ * Latency is measured from the intended start time of each request, so a slow server is not hidden by
+ * coordinated omission.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+    private static final int SEED_CHUNK = 1_000;
+    private static final int CLIENTS = 100;
+
+    enum Operation {
+        FIND_BY_ID, FIND_ALL, CREATE, UPDATE, DELETE
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        System.setProperty("spring.profiles.active", config.profiles());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(EmployeeapiApplication.class)
+                .properties("server.port=0", "logging.level.com.mlcdev=WARN", "spring.jpa.show-sql=false")
+                .run(args);
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            seed(context.getBean(EmployeeService.class), config.seedRows());
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long minId = jdbcTemplate.queryForObject("select min(id) from tb_employee", Long.class);
+            long maxId = jdbcTemplate.queryForObject("select max(id) from tb_employee", Long.class);
+            log.warn("Seeded {} employees, ids {}..{}; running {} req/s for {} (+{} warmup)",
+                    config.seedRows(), minId, maxId, config.requestsPerSecond(), config.duration(), config.warmup());
+
+            Map<Operation, EndpointStats> stats = run(config, URI.create("http://localhost:" + port + "/app/employee"), minId, maxId);
+
+            Map<String, Object> report = report(config, context, stats);
+            Files.createDirectories(config.report().toAbsolutePath().getParent());
+            try (OutputStream outputStream = Files.newOutputStream(config.report())) {
+                context.getBean(ObjectMapper.class).writerWithDefaultPrettyPrinter().writeValue(outputStream, report);
+            }
+            log.warn("Load test report written to {}", config.report().toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seed(EmployeeService service, int rows){
+        Role[] roles = Role.values();
+        List<EmployeeDTO> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < rows; i++) {
+            chunk.add(EmployeeDTO.builder()
+                    .name("Load Test " + i)
+                    .salary(BigDecimal.valueOf(100_000 + (i % 2_000_000), 2))
+                    .hiringDate(LocalDate.of(2000, 1, 1).plusDays(i % 9_000))
+                    .role(roles[i % roles.length])
+                    .build());
+            if(chunk.size() == SEED_CHUNK){
+                service.addAll(chunk);
+                chunk = new ArrayList<>(SEED_CHUNK);
+            }
+        }
+        if(!chunk.isEmpty()){
+            service.addAll(chunk);
+        }
+    }
+
+    private static Map<Operation, EndpointStats> run(LoadTestConfig config, URI baseUri, long minId, long maxId){
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+        AtomicLong deleteCursor = new AtomicLong(minId);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long intervalNanos = 1_000_000_000L / config.requestsPerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intendedStart = start + i * intervalNanos;
+                if(intendedStart >= end){
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if(wait > 0){
+                    LockSupport.parkNanos(wait);
+                }
+                Operation operation = pick(config);
+                EndpointStats target = intendedStart >= measureFrom ? stats.get(operation) : null;
+                String clientId = "loadtest-" + (i % CLIENTS);
+                executor.execute(() -> execute(client, baseUri, config, operation, clientId, deleteCursor, maxId, intendedStart, target));
+            }
+        }
+        return stats;
+    }
+
+    private static Operation pick(LoadTestConfig config){
+        int roll = ThreadLocalRandom.current().nextInt(config.totalWeight());
+        if((roll -= config.findByIdWeight()) < 0){
+            return Operation.FIND_BY_ID;
+        }
+        if((roll -= config.findAllWeight()) < 0){
+            return Operation.FIND_ALL;
+        }
+        if((roll -= config.createWeight()) < 0){
+            return Operation.CREATE;
+        }
+        if(roll - config.updateWeight() < 0){
+            return Operation.UPDATE;
+        }
+        return Operation.DELETE;
+    }
+
+    private static void execute(HttpClient client, URI baseUri, LoadTestConfig config, Operation operation, String clientId,
+                                AtomicLong deleteCursor, long maxId, long intendedStart, EndpointStats stats){
+        HttpRequest request = request(baseUri, config, operation, deleteCursor, maxId)
+                .header("X-Client-Id", clientId)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        boolean success;
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            success = status < 400 || (status == 404 && operation != Operation.CREATE && operation != Operation.FIND_ALL);
+        } catch (IOException e){
+            success = false;
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if(stats != null){
+            stats.record(System.nanoTime() - intendedStart, success);
+        }
+    }
+
+    private static HttpRequest.Builder request(URI baseUri, LoadTestConfig config, Operation operation, AtomicLong deleteCursor, long maxId){
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextLong(Math.min(deleteCursor.get() + 1, maxId), maxId + 1);
+        return switch (operation) {
+            case FIND_BY_ID -> HttpRequest.newBuilder(URI.create(baseUri + "/" + id)).GET();
+            case FIND_ALL -> HttpRequest.newBuilder(URI.create(baseUri + "?page=" + random.nextInt(100) + "&size=" + config.pageSize())).GET();
+            case CREATE -> HttpRequest.newBuilder(baseUri).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body("Created " + random.nextInt())));
+            case UPDATE -> HttpRequest.newBuilder(URI.create(baseUri + "/" + id)).header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body("Updated " + random.nextInt())));
+            case DELETE -> HttpRequest.newBuilder(URI.create(baseUri + "/" + deleteCursor.getAndIncrement())).DELETE();
+        };
+    }
+
+    private static String body(String name){
+        return "{\"name\":\"" + name + "\",\"salary\":5000.00,\"hiringDate\":\"2024-02-01\",\"role\":\"JUNIOR\"}";
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, ConfigurableApplicationContext context, Map<Operation, EndpointStats> stats){
+        double measuredSeconds = config.duration().toMillis() / 1000.0;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("timestamp", Instant.now().toString());
+        report.put("profiles", config.profiles());
+        report.put("virtualThreads", context.getEnvironment().getProperty("spring.threads.virtual.enabled", Boolean.class, false));
+        report.put("seedRows", config.seedRows());
+        report.put("targetRequestsPerSecond", config.requestsPerSecond());
+        report.put("durationSeconds", measuredSeconds);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((operation, endpointStats) -> endpoints.put(operation.name(), endpointStats.toReport(measuredSeconds)));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+}
@@ -0,0 +1,4 @@
+package com.mlcdev.employeeapi.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long invalidations, long size) {
+}
@@ -0,0 +1,27 @@
+package com.mlcdev.employeeapi.cache;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link EmployeeDTO} keyed by id, used by the service layer. Values are copied in and out,
+ * so callers may modify what they get.
+ * Implementations must be thread-safe; a distributed cache can be plugged in by declaring a bean of this type.
+ */
+public interface EmployeeCache {
+
+    Optional<EmployeeDTO> get(Long id);
+
+    /**
+     * Caches {@code dto} unless its id was evicted (or the cache cleared) at or after {@code loadStartedNanos},
+     * the {@link System#nanoTime()} taken before it was read, since it may then hold the row before that change.
+     */
+    void put(EmployeeDTO dto, long loadStartedNanos);
+
+    void evict(Long id);
+
+    void clear();
+
+    CacheStats stats();
+}
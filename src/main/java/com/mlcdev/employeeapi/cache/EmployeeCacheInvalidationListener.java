@@ -0,0 +1,60 @@
+package com.mlcdev.employeeapi.cache;
+
+import com.mlcdev.employeeapi.event.ChangeType;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Slf4j
+@Component
+public class EmployeeCacheInvalidationListener {
+
+    private final EmployeeCache cache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final TaskScheduler scheduler;
+    private final boolean replicaEnabled;
+    private final Duration replicaEvictDelay;
+
+    public EmployeeCacheInvalidationListener(EmployeeCache cache, NegativeLookupCache negativeLookupCache, TaskScheduler scheduler,
+                                             @Value("${employee.replica.enabled:false}") boolean replicaEnabled,
+                                             @Value("${employee.replica.max-lag:1s}") Duration maxLag,
+                                             @Value("${employee.replica.lag-check-interval:1s}") Duration lagCheckInterval) {
+        this.cache = cache;
+        this.negativeLookupCache = negativeLookupCache;
+        this.scheduler = scheduler;
+        this.replicaEnabled = replicaEnabled;
+        this.replicaEvictDelay = maxLag.plus(lagCheckInterval);
+    }
+
+    /**
+     * With replica routing a concurrent read may load the old row from the replica and cache it right after this
+     * eviction, so the entry is evicted once more after the longest lag reads can still be served with.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event){
+        evict(event);
+        if(replicaEnabled){
+            scheduler.schedule(() -> evict(event), Instant.now().plus(replicaEvictDelay));
+        }
+    }
+
+    private void evict(EmployeeChangedEvent event){
+        if(event.type() == ChangeType.BULK_UPDATED){
+            log.debug("Clearing the employee cache after {}",event.type());
+            cache.clear();
+            return;
+        }
+        log.debug("Evicting employee with ID: {} from cache after {}",event.id(),event.type());
+        cache.evict(event.id());
+        if(event.type() == ChangeType.CREATED){
+            negativeLookupCache.evict(event.id());
+        }
+    }
+}
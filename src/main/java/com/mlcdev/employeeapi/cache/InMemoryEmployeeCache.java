@@ -0,0 +1,151 @@
+package com.mlcdev.employeeapi.cache;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Size-bounded LRU cache with a time-to-live per entry. Stores and returns copies of the DTOs.
+ * <p>
+ * Evictions leave a tombstone with their time for {@link #TOMBSTONE_RETENTION_NANOS}, so a put whose load started
+ * before a later eviction is dropped instead of caching the row as it was before the change. Puts whose load
+ * started before the retained tombstones are dropped too.
+ */
+public class InMemoryEmployeeCache implements EmployeeCache {
+
+    private static final long TOMBSTONE_RETENTION_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final Map<Long, Entry> entries;
+    private final Map<Long, Long> evictedAt = new LinkedHashMap<>();
+    private long tombstonesSince = System.nanoTime();
+
+    public InMemoryEmployeeCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if(size() > InMemoryEmployeeCache.this.maxSize){
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<EmployeeDTO> get(Long id) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(id);
+            if(entry == null){
+                misses.increment();
+                return Optional.empty();
+            }
+            if(entry.expiresAt() - System.nanoTime() <= 0){
+                entries.remove(id);
+                evictions.increment();
+                misses.increment();
+                return Optional.empty();
+            }
+            hits.increment();
+            return Optional.of(copy(entry.dto()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(EmployeeDTO dto, long loadStartedNanos) {
+        lock.lock();
+        try {
+            Long evicted = evictedAt.get(dto.getId());
+            if(loadStartedNanos - tombstonesSince < 0 || (evicted != null && evicted - loadStartedNanos >= 0)){
+                return;
+            }
+            entries.put(dto.getId(), new Entry(copy(dto), System.nanoTime() + ttlNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void evict(Long id) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            evictedAt.remove(id);
+            evictedAt.put(id, now);
+            pruneTombstones(now);
+            if(entries.remove(id) != null){
+                invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            invalidations.add(entries.size());
+            entries.clear();
+            evictedAt.clear();
+            tombstonesSince = System.nanoTime();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), invalidations.sum(), entries.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void pruneTombstones(long now){
+        Iterator<Long> times = evictedAt.values().iterator();
+        while (times.hasNext()) {
+            long time = times.next();
+            if(now - time < TOMBSTONE_RETENTION_NANOS){
+                return;
+            }
+            times.remove();
+            tombstonesSince = time;
+        }
+    }
+
+    private static EmployeeDTO copy(EmployeeDTO dto){
+        return EmployeeDTO.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .salary(dto.getSalary())
+                .hiringDate(dto.getHiringDate())
+                .role(dto.getRole())
+                .version(dto.getVersion())
+                .build();
+    }
+
+    private record Entry(EmployeeDTO dto, long expiresAt) {
+    }
+}
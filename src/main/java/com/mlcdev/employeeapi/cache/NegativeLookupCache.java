@@ -0,0 +1,87 @@
+package com.mlcdev.employeeapi.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids recently looked up and not found, kept for a short time-to-live so repeated misses skip the database.
+ * Entries are evicted when an employee is created; a miss recorded while that create was committing can
+ * survive until its TTL expires, so the TTL should stay short. A zero TTL disables the cache.
+ */
+public class NegativeLookupCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final Map<Long, Long> expiresAt;
+
+    public NegativeLookupCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.expiresAt = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > NegativeLookupCache.this.maxSize;
+            }
+        };
+    }
+
+    public boolean isMissing(Long id){
+        if(ttlNanos <= 0){
+            return false;
+        }
+        lock.lock();
+        try {
+            Long expiry = expiresAt.get(id);
+            if(expiry == null){
+                return false;
+            }
+            if(expiry - System.nanoTime() <= 0){
+                expiresAt.remove(id);
+                return false;
+            }
+            hits.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markMissing(Long id){
+        if(ttlNanos <= 0){
+            return;
+        }
+        lock.lock();
+        try {
+            expiresAt.put(id, System.nanoTime() + ttlNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(Long id){
+        lock.lock();
+        try {
+            expiresAt.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear(){
+        lock.lock();
+        try {
+            expiresAt.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hits(){
+        return hits.sum();
+    }
+}
@@ -0,0 +1,30 @@
+package com.mlcdev.employeeapi.cache;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+
+import java.util.Optional;
+
+public class NoOpEmployeeCache implements EmployeeCache {
+
+    @Override
+    public Optional<EmployeeDTO> get(Long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(EmployeeDTO dto, long loadStartedNanos) {
+    }
+
+    @Override
+    public void evict(Long id) {
+    }
+
+    @Override
+    public void clear() {
+    }
+
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mlcdev.employeeapi.changefeed;
+
+import com.mlcdev.employeeapi.dto.ChangeEventDTO;
+import com.mlcdev.employeeapi.dto.CursorPageDTO;
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.routing.ReplicaRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the feed to one SSE client from its own virtual thread. The only state is the cursor (last delivered
+ * sequence); when it falls out of the ring buffer the client gets a snapshot of all employees and then continues
+ * from the sequence taken before the snapshot, so delivery is at-least-once.
+ */
+@Slf4j
+class ChangeFeedSubscriber {
+
+    private static final int MAX_EVENTS_PER_READ = 256;
+
+    private final EmployeeChangeFeed feed;
+    private final SseEmitter emitter;
+    private final Duration heartbeat;
+    private final Semaphore signal = new Semaphore(0);
+
+    private volatile boolean open = true;
+    private long cursor;
+
+    ChangeFeedSubscriber(EmployeeChangeFeed feed, SseEmitter emitter, long cursor, Duration heartbeat) {
+        this.feed = feed;
+        this.emitter = emitter;
+        this.cursor = cursor;
+        this.heartbeat = heartbeat;
+    }
+
+    void start(){
+        Thread.ofVirtual().name("change-feed-subscriber").start(this::run);
+    }
+
+    void wake(){
+        if(signal.availablePermits() == 0){
+            signal.release();
+        }
+    }
+
+    void close(){
+        open = false;
+        signal.release();
+        feed.remove(this);
+    }
+
+    private void run(){
+        try {
+            while (open) {
+                List<ChangeEventDTO> events = feed.readAfter(cursor, MAX_EVENTS_PER_READ);
+                if(events == null){
+                    sendSnapshot();
+                } else if(!events.isEmpty()){
+                    for (ChangeEventDTO event : events) {
+                        emitter.send(SseEmitter.event().id(String.valueOf(event.sequence())).name(event.type().name().toLowerCase())
+                                .data(event, MediaType.APPLICATION_JSON));
+                        cursor = event.sequence();
+                    }
+                } else if(signal.tryAcquire(heartbeat.toNanos(), TimeUnit.NANOSECONDS)){
+                    signal.drainPermits();
+                } else {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException | IllegalStateException e){
+            log.debug("Change feed subscriber disconnected: {}",e.getMessage());
+            emitter.completeWithError(e);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Reads from the primary even when read-only transactions are routed to a replica: the sequence is taken from
+     * primary commits, so a replica that has not replayed them yet would drop changes the cursor already skips.
+     */
+    private void sendSnapshot() throws IOException {
+        long snapshotSequence = feed.lastSequence();
+        long employees = 0;
+        String after = null;
+        CursorPageDTO<EmployeeDTO> page;
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            do {
+                page = feed.employeeService().scroll(after, feed.snapshotPageSize());
+                for (EmployeeDTO employee : page.content()) {
+                    emitter.send(SseEmitter.event().name("snapshot").data(employee, MediaType.APPLICATION_JSON));
+                }
+                employees += page.content().size();
+                after = page.next();
+            } while (open && page.hasNext());
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+        emitter.send(SseEmitter.event().id(String.valueOf(snapshotSequence)).name("snapshot-complete").data(snapshotSequence));
+        cursor = snapshotSequence;
+        log.info("Change feed snapshot of {} employees sent, resuming after sequence {}",employees,snapshotSequence);
+    }
+}
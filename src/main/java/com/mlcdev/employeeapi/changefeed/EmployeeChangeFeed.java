@@ -0,0 +1,117 @@
+package com.mlcdev.employeeapi.changefeed;
+
+import com.mlcdev.employeeapi.dto.ChangeEventDTO;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import com.mlcdev.employeeapi.service.EmployeeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded ring buffer of committed employee changes, fanned out to Server-Sent Events subscribers.
+ * Publishing only appends and wakes the subscribers; each subscriber has its own virtual thread that reads
+ * from the buffer at its own pace, so a slow client never blocks a writer or a request thread.
+ * <p>
+ * Sequences start at the boot time in microseconds, so they keep growing across restarts and a token from a
+ * previous run, or one older than the buffer, is answered with a snapshot.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeFeed {
+
+    private final ChangeEventDTO[] buffer;
+    private final long firstSequence;
+    private final EmployeeService employeeService;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final int snapshotPageSize;
+    private final Set<ChangeFeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private long nextSequence;
+
+    public EmployeeChangeFeed(EmployeeService employeeService, MeterRegistry registry,
+                              @Value("${employee.changes.buffer-size:10000}") int bufferSize,
+                              @Value("${employee.changes.heartbeat:15s}") Duration heartbeat,
+                              @Value("${employee.changes.timeout:30m}") Duration timeout,
+                              @Value("${employee.changes.snapshot-page-size:100}") int snapshotPageSize) {
+        this.buffer = new ChangeEventDTO[bufferSize];
+        this.firstSequence = System.currentTimeMillis() * 1000;
+        this.nextSequence = firstSequence;
+        this.employeeService = employeeService;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.snapshotPageSize = snapshotPageSize;
+        Gauge.builder("employeeapi.changes.subscribers", subscribers, Set::size).register(registry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event){
+        append(event);
+        subscribers.forEach(ChangeFeedSubscriber::wake);
+    }
+
+    public SseEmitter subscribe(Long since){
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        long cursor = since != null ? since : lastSequence();
+        ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(this, emitter, cursor, heartbeat);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscriber.start();
+        log.info("Change feed subscriber added after sequence {}, {} subscribers",cursor,subscribers.size());
+        return emitter;
+    }
+
+    synchronized long lastSequence(){
+        return nextSequence - 1;
+    }
+
+    /**
+     * Returns up to {@code limit} events after {@code cursor}, or {@code null} when the cursor is no longer
+     * (or was never) covered by the buffer and the subscriber needs a snapshot.
+     */
+    synchronized List<ChangeEventDTO> readAfter(long cursor, int limit){
+        long oldest = Math.max(firstSequence, nextSequence - buffer.length);
+        if(cursor + 1 < oldest || cursor >= nextSequence){
+            return null;
+        }
+        long end = Math.min(nextSequence, cursor + 1 + limit);
+        List<ChangeEventDTO> events = new ArrayList<>((int) (end - cursor - 1));
+        for (long sequence = cursor + 1; sequence < end; sequence++) {
+            events.add(buffer[(int) (sequence % buffer.length)]);
+        }
+        return events;
+    }
+
+    EmployeeService employeeService(){
+        return employeeService;
+    }
+
+    int snapshotPageSize(){
+        return snapshotPageSize;
+    }
+
+    void remove(ChangeFeedSubscriber subscriber){
+        if(subscribers.remove(subscriber)){
+            log.info("Change feed subscriber removed, {} subscribers",subscribers.size());
+        }
+    }
+
+    private synchronized void append(EmployeeChangedEvent event){
+        long sequence = nextSequence++;
+        buffer[(int) (sequence % buffer.length)] = new ChangeEventDTO(sequence, event.type(), event.id(), event.current(), Instant.now());
+    }
+}
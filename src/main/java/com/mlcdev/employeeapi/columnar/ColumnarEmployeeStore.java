@@ -0,0 +1,402 @@
+package com.mlcdev.employeeapi.columnar;
+
+import com.mlcdev.employeeapi.columnar.ColumnarEmployeeTable.Column;
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.dto.EmployeeFilter;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import com.mlcdev.employeeapi.model.Employee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.core.PropertyPath;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-process copy of tb_employee that serves list, filter and sort queries without touching the
+ * database. It is loaded at startup and kept in sync from committed change events; until the first load
+ * finishes, and after {@link #markStale()} until the next load, {@link #isReady()} is false and callers should
+ * use the JPA path.
+ * <p>
+ * Queries scan the columns in parallel. The id, name, salary and hiring date columns have sorted indexes
+ * (row numbers ordered by value) that narrow range and prefix filters and return sorted pages without a sort;
+ * writes make them stale and {@link #refreshIndexes()} rebuilds them in the background, queries fall back to
+ * scan and sort meanwhile. Names are compared with Java string order, which may differ from the database collation.
+ */
+@Slf4j
+@Component
+public class ColumnarEmployeeStore {
+
+    private static final Set<Column> INDEXED_COLUMNS = Set.of(Column.ID, Column.NAME, Column.SALARY, Column.HIRING_DATE);
+    private static final int PARALLEL_THRESHOLD = 16_384;
+    private static final int INDEX_WALK_RATIO = 8;
+
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<EmployeeChangedEvent> pendingDuringLoad = new ArrayList<>();
+
+    private ColumnarEmployeeTable table = new ColumnarEmployeeTable(0);
+    private volatile Map<Column, SortedIndex> indexes = Map.of();
+    private volatile ColumnarMemoryReport memoryReport = new ColumnarMemoryReport(0, 0, 0, 0, 0, 0);
+    private volatile boolean ready;
+    private boolean loading;
+    private long staleGeneration;
+
+    public ColumnarEmployeeStore(MeterRegistry registry, @Value("${employee.columnar.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+        Gauge.builder("employeeapi.columnar.rows", this, store -> store.memoryReport.liveRows()).register(registry);
+        Gauge.builder("employeeapi.columnar.bytes_per_row", this, store -> store.memoryReport.bytesPerRow()).register(registry);
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    public boolean isReady(){
+        return enabled && ready;
+    }
+
+    public ColumnarMemoryReport memoryReport(){
+        return memoryReport;
+    }
+
+    /**
+     * Stops serving reads until the next load, for changes that can't be applied row by row. A load already
+     * running may have read the rows before the change, so it doesn't make the store ready again.
+     */
+    public void markStale(){
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            staleGeneration++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the contents with the given rows. Changes committed while loading are queued and replayed on top,
+     * the version check drops the ones the loaded rows already contain.
+     */
+    public synchronized void load(Stream<EmployeeDTO> employees){
+        long generation;
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            pendingDuringLoad.clear();
+            generation = staleGeneration;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ColumnarEmployeeTable loaded = new ColumnarEmployeeTable(1024);
+        boolean complete = false;
+        try {
+            employees.forEach(loaded::upsert);
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                ColumnarEmployeeTable target = complete ? loaded : table;
+                pendingDuringLoad.forEach(event -> apply(target, event));
+                pendingDuringLoad.clear();
+                loading = false;
+                if(complete){
+                    table = loaded;
+                    indexes = Map.of();
+                    ready = generation == staleGeneration;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        refreshIndexes();
+        ColumnarMemoryReport report = memoryReport;
+        log.info("Columnar store loaded with {} employees, {} MB, {} bytes per row",report.liveRows(),report.totalBytes() / (1024 * 1024),
+                Math.round(report.bytesPerRow()));
+    }
+
+    public void apply(EmployeeChangedEvent event){
+        lock.writeLock().lock();
+        try {
+            if(loading){
+                pendingDuringLoad.add(event);
+            } else {
+                apply(table, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(ColumnarEmployeeTable target, EmployeeChangedEvent event){
+        if(event.current() != null){
+            target.upsert(event.current());
+        } else {
+            target.delete(event.id());
+        }
+    }
+
+    /**
+     * Compacts the table when a quarter of its rows are tombstones and rebuilds the stale sorted indexes.
+     */
+    public void refreshIndexes(){
+        if(!ready){
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if(table.deletedRows() > table.size() / 4){
+                log.debug("Compacting columnar store, {} of {} rows deleted",table.deletedRows(),table.size());
+                table = table.compact();
+                indexes = Map.of();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        lock.readLock().lock();
+        try {
+            ColumnarEmployeeTable current = table;
+            Map<Column, SortedIndex> refreshed = new EnumMap<>(Column.class);
+            int[] liveRows = null;
+            for (Column column : INDEXED_COLUMNS) {
+                SortedIndex index = indexes.get(column);
+                if(index == null || index.generation() != current.generation()){
+                    if(liveRows == null){
+                        liveRows = current.liveRowNumbers();
+                    }
+                    int[] rows = liveRows.clone();
+                    RowSorter.sort(rows, thenById(current.comparator(column, false), current, false));
+                    index = new SortedIndex(rows, current.generation());
+                }
+                refreshed.put(column, index);
+            }
+            indexes = Map.copyOf(refreshed);
+            memoryReport = new ColumnarMemoryReport(current.size(), current.liveRows(), current.columnBytes(), current.nameBytes(),
+                    refreshed.values().stream().mapToLong(index -> index.rows().length * (long) Integer.BYTES).sum(), current.idMapBytes());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<EmployeeDTO> findAll(EmployeeFilter filter, Set<EmployeeField> fields, Pageable pageable){
+        List<Sort.Order> orders = orders(pageable.getSort());
+        lock.readLock().lock();
+        try {
+            ColumnarEmployeeTable current = table;
+            Map<Column, SortedIndex> fresh = freshIndexes(current);
+            RowFilter rowFilter = RowFilter.of(filter);
+            Candidates candidates = narrowestCandidates(current, fresh, rowFilter);
+            int[] matches = scan(current, rowFilter, candidates);
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : matches.length;
+            int[] pageRows = offset >= matches.length ? new int[0] : page(current, fresh, candidates, matches, orders, (int) offset, limit);
+            List<EmployeeDTO> content = Arrays.stream(pageRows).mapToObj(row -> current.toDTO(row, fields)).toList();
+            return new PageImpl<>(content, pageable, matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Sort.Order> orders(Sort sort){
+        if(sort.isUnsorted()){
+            return List.of(Sort.Order.asc("id"));
+        }
+        sort.forEach(order -> PropertyPath.from(order.getProperty(), Employee.class));
+        return sort.toList();
+    }
+
+    private Map<Column, SortedIndex> freshIndexes(ColumnarEmployeeTable current){
+        Map<Column, SortedIndex> fresh = new EnumMap<>(Column.class);
+        indexes.forEach((column, index) -> {
+            if(index.generation() == current.generation()){
+                fresh.put(column, index);
+            }
+        });
+        return fresh;
+    }
+
+    /**
+     * Picks the smallest slice of a fresh index that covers a salary range, hiring date range or name prefix.
+     */
+    private static Candidates narrowestCandidates(ColumnarEmployeeTable current, Map<Column, SortedIndex> fresh, RowFilter filter){
+        Candidates best = new Candidates(null, null, 0, current.size());
+        SortedIndex salary = fresh.get(Column.SALARY);
+        if(salary != null && (filter.minCents() != Long.MIN_VALUE || filter.maxCents() != Long.MAX_VALUE)){
+            int from = firstPosition(salary.rows(), 0, salary.rows().length, row -> current.salaryCents(row) >= filter.minCents());
+            int to = firstPosition(salary.rows(), from, salary.rows().length, row -> current.salaryCents(row) > filter.maxCents());
+            best = narrower(best, new Candidates(Column.SALARY, salary, from, to));
+        }
+        SortedIndex hiringDate = fresh.get(Column.HIRING_DATE);
+        if(hiringDate != null && (filter.minDay() != Integer.MIN_VALUE || filter.maxDay() != Integer.MAX_VALUE)){
+            int from = firstPosition(hiringDate.rows(), 0, hiringDate.rows().length, row -> current.hiringDay(row) >= filter.minDay());
+            int to = firstPosition(hiringDate.rows(), from, hiringDate.rows().length, row -> current.hiringDay(row) > filter.maxDay());
+            best = narrower(best, new Candidates(Column.HIRING_DATE, hiringDate, from, to));
+        }
+        SortedIndex name = fresh.get(Column.NAME);
+        String prefix = filter.namePrefix();
+        if(name != null && prefix != null){
+            int from = firstPosition(name.rows(), 0, name.rows().length, row -> current.name(row).compareTo(prefix) >= 0);
+            int to = firstPosition(name.rows(), from, name.rows().length, row -> !current.name(row).startsWith(prefix));
+            best = narrower(best, new Candidates(Column.NAME, name, from, to));
+        }
+        return best;
+    }
+
+    private static Candidates narrower(Candidates current, Candidates candidate){
+        return candidate.to() - candidate.from() < current.to() - current.from() ? candidate : current;
+    }
+
+    private static int firstPosition(int[] rows, int from, int to, IntPredicate reached){
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if(reached.test(rows[mid])){
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static int[] scan(ColumnarEmployeeTable current, RowFilter filter, Candidates candidates){
+        IntStream rows = candidates.index() == null ? IntStream.range(candidates.from(), candidates.to())
+                : Arrays.stream(candidates.index().rows(), candidates.from(), candidates.to());
+        if(candidates.to() - candidates.from() >= PARALLEL_THRESHOLD){
+            rows = rows.parallel();
+        }
+        return rows.filter(row -> filter.matches(current, row)).toArray();
+    }
+
+    /**
+     * Orders the matches and cuts the page. A single-column sort on a fresh index is read in index order:
+     * directly when the matches came from that index, otherwise by walking the index when the matches are a
+     * large share of the table. Everything else is sorted.
+     */
+    private static int[] page(ColumnarEmployeeTable current, Map<Column, SortedIndex> fresh, Candidates candidates, int[] matches,
+                              List<Sort.Order> orders, int offset, int limit){
+        int end = (int) Math.min((long) offset + limit, matches.length);
+        Sort.Order single = orders.size() == 1 && !orders.getFirst().isIgnoreCase() ? orders.getFirst() : null;
+        Column column = single == null ? null : Column.fromProperty(single.getProperty());
+        SortedIndex index = column == null ? null : fresh.get(column);
+        if(index != null && column == candidates.column()){
+            return slice(matches, offset, end, single.isDescending());
+        }
+        if(index != null && (long) matches.length * INDEX_WALK_RATIO >= index.rows().length){
+            return walk(index, matches, offset, end - offset, single.isDescending());
+        }
+        RowSorter.sort(matches, comparator(current, orders));
+        return Arrays.copyOfRange(matches, offset, end);
+    }
+
+    private static int[] slice(int[] ascending, int offset, int end, boolean descending){
+        if(!descending){
+            return Arrays.copyOfRange(ascending, offset, end);
+        }
+        int[] page = new int[end - offset];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = ascending[ascending.length - 1 - offset - i];
+        }
+        return page;
+    }
+
+    private static int[] walk(SortedIndex index, int[] matches, int offset, int limit, boolean descending){
+        BitSet matched = new BitSet();
+        for (int row : matches) {
+            matched.set(row);
+        }
+        int[] rows = index.rows();
+        int[] page = new int[limit];
+        int skipped = 0;
+        int taken = 0;
+        for (int i = 0; i < rows.length && taken < limit; i++) {
+            int row = rows[descending ? rows.length - 1 - i : i];
+            if(matched.get(row)){
+                if(skipped < offset){
+                    skipped++;
+                } else {
+                    page[taken++] = row;
+                }
+            }
+        }
+        return page;
+    }
+
+    private static RowSorter.RowComparator comparator(ColumnarEmployeeTable current, List<Sort.Order> orders){
+        RowSorter.RowComparator result = (left, right) -> 0;
+        for (Sort.Order order : orders) {
+            RowSorter.RowComparator previous = result;
+            RowSorter.RowComparator next = current.comparator(Column.fromProperty(order.getProperty()), order.isIgnoreCase());
+            RowSorter.RowComparator directed = order.isDescending() ? (left, right) -> next.compare(right, left) : next;
+            result = (left, right) -> {
+                int compared = previous.compare(left, right);
+                return compared != 0 ? compared : directed.compare(left, right);
+            };
+        }
+        return thenById(result, current, orders.getLast().isDescending());
+    }
+
+    /**
+     * Ties are broken by id in the direction of the last order, matching a descending walk of an index.
+     */
+    private static RowSorter.RowComparator thenById(RowSorter.RowComparator comparator, ColumnarEmployeeTable current, boolean descending){
+        return (left, right) -> {
+            int compared = comparator.compare(left, right);
+            if(compared != 0){
+                return compared;
+            }
+            return descending ? Long.compare(current.id(right), current.id(left)) : Long.compare(current.id(left), current.id(right));
+        };
+    }
+
+    private record SortedIndex(int[] rows, long generation) {
+    }
+
+    private record Candidates(Column column, SortedIndex index, int from, int to) {
+    }
+
+    private record RowFilter(int role, long minCents, long maxCents, int minDay, int maxDay, String namePrefix) {
+
+        static RowFilter of(EmployeeFilter filter){
+            return new RowFilter(filter.role() == null ? -1 : filter.role().ordinal(),
+                    filter.minSalary() == null ? Long.MIN_VALUE : cents(filter.minSalary(), RoundingMode.CEILING),
+                    filter.maxSalary() == null ? Long.MAX_VALUE : cents(filter.maxSalary(), RoundingMode.FLOOR),
+                    filter.hiredAfter() == null ? Integer.MIN_VALUE : (int) filter.hiredAfter().toEpochDay() + 1,
+                    filter.hiredBefore() == null ? Integer.MAX_VALUE : (int) filter.hiredBefore().toEpochDay() - 1,
+                    filter.namePrefix() == null || filter.namePrefix().isBlank() ? null : filter.namePrefix());
+        }
+
+        private static long cents(BigDecimal salary, RoundingMode rounding){
+            return ColumnarEmployeeTable.toCents(salary.setScale(2, rounding));
+        }
+
+        boolean matches(ColumnarEmployeeTable table, int row){
+            return table.isLive(row)
+                    && (role < 0 || table.role(row) == role)
+                    && table.salaryCents(row) >= minCents && table.salaryCents(row) <= maxCents
+                    && table.hiringDay(row) >= minDay && table.hiringDay(row) <= maxDay
+                    && (namePrefix == null || table.name(row).startsWith(namePrefix));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mlcdev.employeeapi.columnar;
+
+import com.mlcdev.employeeapi.event.ChangeType;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import com.mlcdev.employeeapi.mapper.EmployeeMapper;
+import com.mlcdev.employeeapi.model.Employee;
+import com.mlcdev.employeeapi.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ColumnarEmployeeStoreListener {
+
+    private final ColumnarEmployeeStore store;
+    private final EmployeeRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor executor;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    public ColumnarEmployeeStoreListener(ColumnarEmployeeStore store, EmployeeRepository repository, EntityManager entityManager,
+                                         PlatformTransactionManager transactionManager, @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.store = store;
+        this.executor = executor;
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Loads the store from a fresh read-only transaction, so it also works from an after-commit callback.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload(){
+        if(!store.isEnabled()){
+            return;
+        }
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Employee> employees = repository.streamAll()) {
+                store.load(employees.map(employee -> {
+                    entityManager.detach(employee);
+                    return EmployeeMapper.toDTO(employee);
+                }));
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event){
+        if(store.isEnabled() && event.type() == ChangeType.BULK_UPDATED){
+            log.debug("Reloading the columnar store after {}",event.type());
+            store.markStale();
+            scheduleReload();
+        } else if(store.isEnabled()){
+            log.debug("Applying {} of employee with ID: {} to the columnar store",event.type(),event.id());
+            store.apply(event);
+        }
+    }
+
+    /**
+     * Reloads on the task executor instead of the committing request thread; changes committed meanwhile are
+     * replayed by the store and bulk updates arriving before the pending reload started share it.
+     */
+    private void scheduleReload(){
+        if(reloadPending.compareAndSet(false, true)){
+            executor.execute(() -> {
+                reloadPending.set(false);
+                reload();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${employee.columnar.index-refresh:1s}")
+    public void refreshIndexes(){
+        if(store.isEnabled()){
+            store.refreshIndexes();
+        }
+    }
+}
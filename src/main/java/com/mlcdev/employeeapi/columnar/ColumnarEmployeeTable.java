@@ -0,0 +1,255 @@
+package com.mlcdev.employeeapi.columnar;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.model.Role;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented copy of tb_employee: one primitive array per column, salaries as cents, hiring dates as epoch
+ * days and roles as one byte. Updates overwrite their row, deletes leave a tombstone until {@link #compact()}.
+ * Not thread safe, {@link ColumnarEmployeeStore} guards it with a read/write lock.
+ */
+final class ColumnarEmployeeTable {
+
+    private static final int SALARY_SCALE = 2;
+    private static final Role[] ROLES = Role.values();
+    private static final int[] ROLE_NAME_RANK = roleNameRank();
+
+    enum Column {
+        ID("id"), NAME("name"), SALARY("salary"), HIRING_DATE("hiringDate"), ROLE("role"), VERSION("version");
+
+        private final String property;
+
+        Column(String property) {
+            this.property = property;
+        }
+
+        static Column fromProperty(String property){
+            for (Column column : values()) {
+                if(column.property.equals(property)){
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    private long[] ids;
+    private String[] names;
+    private long[] salaryCents;
+    private int[] hiringDays;
+    private byte[] roles;
+    private long[] versions;
+    private final BitSet deleted = new BitSet();
+    private final LongIntHashMap rowById;
+    private int size;
+    private int deletedRows;
+    private long generation;
+
+    ColumnarEmployeeTable(int capacity) {
+        int initialCapacity = Math.max(16, capacity);
+        ids = new long[initialCapacity];
+        names = new String[initialCapacity];
+        salaryCents = new long[initialCapacity];
+        hiringDays = new int[initialCapacity];
+        roles = new byte[initialCapacity];
+        versions = new long[initialCapacity];
+        rowById = new LongIntHashMap(initialCapacity);
+    }
+
+    /**
+     * Inserts or overwrites the employee, unless the row already holds the same or a newer version.
+     * Deleted ids are never brought back, since ids are not reused.
+     */
+    boolean upsert(EmployeeDTO dto){
+        int row = rowById.get(dto.getId());
+        if(row == LongIntHashMap.MISSING){
+            row = size++;
+            ensureCapacity(size);
+            rowById.put(dto.getId(), row);
+        } else if(deleted.get(row) || (dto.getVersion() != null && versions[row] >= dto.getVersion())){
+            return false;
+        }
+        ids[row] = dto.getId();
+        names[row] = dto.getName();
+        salaryCents[row] = toCents(dto.getSalary());
+        hiringDays[row] = (int) dto.getHiringDate().toEpochDay();
+        roles[row] = (byte) dto.getRole().ordinal();
+        versions[row] = dto.getVersion() == null ? 0 : dto.getVersion();
+        generation++;
+        return true;
+    }
+
+    boolean delete(long id){
+        int row = rowById.get(id);
+        if(row == LongIntHashMap.MISSING || deleted.get(row)){
+            return false;
+        }
+        deleted.set(row);
+        names[row] = null;
+        deletedRows++;
+        generation++;
+        return true;
+    }
+
+    /**
+     * Copies the live rows into a new table, dropping tombstones and the ids they kept reserved.
+     */
+    ColumnarEmployeeTable compact(){
+        ColumnarEmployeeTable compacted = new ColumnarEmployeeTable(liveRows());
+        for (int row = 0; row < size; row++) {
+            if(!deleted.get(row)){
+                compacted.copyRow(this, row);
+            }
+        }
+        return compacted;
+    }
+
+    int size(){
+        return size;
+    }
+
+    int liveRows(){
+        return size - deletedRows;
+    }
+
+    int deletedRows(){
+        return deletedRows;
+    }
+
+    long generation(){
+        return generation;
+    }
+
+    boolean isLive(int row){
+        return !deleted.get(row);
+    }
+
+    long id(int row){
+        return ids[row];
+    }
+
+    String name(int row){
+        return names[row];
+    }
+
+    long salaryCents(int row){
+        return salaryCents[row];
+    }
+
+    int hiringDay(int row){
+        return hiringDays[row];
+    }
+
+    byte role(int row){
+        return roles[row];
+    }
+
+    int[] liveRowNumbers(){
+        return IntStream.range(0, size).filter(this::isLive).toArray();
+    }
+
+    RowSorter.RowComparator comparator(Column column, boolean ignoreCase){
+        return switch (column) {
+            case ID -> (left, right) -> Long.compare(ids[left], ids[right]);
+            case NAME -> ignoreCase ? (left, right) -> String.CASE_INSENSITIVE_ORDER.compare(names[left], names[right])
+                    : (left, right) -> names[left].compareTo(names[right]);
+            case SALARY -> (left, right) -> Long.compare(salaryCents[left], salaryCents[right]);
+            case HIRING_DATE -> (left, right) -> Integer.compare(hiringDays[left], hiringDays[right]);
+            case ROLE -> (left, right) -> Integer.compare(ROLE_NAME_RANK[roles[left]], ROLE_NAME_RANK[roles[right]]);
+            case VERSION -> (left, right) -> Long.compare(versions[left], versions[right]);
+        };
+    }
+
+    EmployeeDTO toDTO(int row, Set<EmployeeField> fields){
+        EmployeeDTO dto = new EmployeeDTO();
+        for (EmployeeField field : fields) {
+            field.set(dto, switch (field) {
+                case ID -> ids[row];
+                case NAME -> names[row];
+                case SALARY -> BigDecimal.valueOf(salaryCents[row], SALARY_SCALE);
+                case HIRING_DATE -> LocalDate.ofEpochDay(hiringDays[row]);
+                case ROLE -> ROLES[roles[row]];
+            });
+        }
+        return dto;
+    }
+
+    /**
+     * Estimated heap used by the columns; names count the String objects and their Latin-1 byte arrays,
+     * references are assumed to be compressed (4 bytes).
+     */
+    long columnBytes(){
+        return ids.length * (long) Long.BYTES + salaryCents.length * (long) Long.BYTES + versions.length * (long) Long.BYTES
+                + hiringDays.length * (long) Integer.BYTES + roles.length + names.length * 4L + deleted.size() / Byte.SIZE;
+    }
+
+    long nameBytes(){
+        long bytes = 0;
+        for (int row = 0; row < size; row++) {
+            if(names[row] != null){
+                bytes += 24 + align(16 + names[row].length());
+            }
+        }
+        return bytes;
+    }
+
+    long idMapBytes(){
+        return rowById.estimatedBytes();
+    }
+
+    static long toCents(BigDecimal salary){
+        return salary.setScale(SALARY_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private void copyRow(ColumnarEmployeeTable source, int row){
+        int target = size++;
+        ids[target] = source.ids[row];
+        names[target] = source.names[row];
+        salaryCents[target] = source.salaryCents[row];
+        hiringDays[target] = source.hiringDays[row];
+        roles[target] = source.roles[row];
+        versions[target] = source.versions[row];
+        rowById.put(ids[target], target);
+        generation++;
+    }
+
+    private void ensureCapacity(int capacity){
+        if(capacity <= ids.length){
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        salaryCents = Arrays.copyOf(salaryCents, newCapacity);
+        hiringDays = Arrays.copyOf(hiringDays, newCapacity);
+        roles = Arrays.copyOf(roles, newCapacity);
+        versions = Arrays.copyOf(versions, newCapacity);
+    }
+
+    private static long align(long bytes){
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * The database orders the role column by name, not by ordinal.
+     */
+    private static int[] roleNameRank(){
+        Role[] byName = ROLES.clone();
+        Arrays.sort(byName, Comparator.comparing(Role::name));
+        int[] rank = new int[ROLES.length];
+        for (int i = 0; i < byName.length; i++) {
+            rank[byName[i].ordinal()] = i;
+        }
+        return rank;
+    }
+}
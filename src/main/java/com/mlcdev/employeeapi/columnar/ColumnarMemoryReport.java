@@ -0,0 +1,17 @@
+package com.mlcdev.employeeapi.columnar;
+
+public record ColumnarMemoryReport(int rows,
+                                   int liveRows,
+                                   long columnBytes,
+                                   long nameBytes,
+                                   long indexBytes,
+                                   long idMapBytes) {
+
+    public long totalBytes(){
+        return columnBytes + nameBytes + indexBytes + idMapBytes;
+    }
+
+    public double bytesPerRow(){
+        return liveRows == 0 ? 0 : (double) totalBytes() / liveRows;
+    }
+}
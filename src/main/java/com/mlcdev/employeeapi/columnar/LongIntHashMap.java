@@ -0,0 +1,76 @@
+package com.mlcdev.employeeapi.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from employee id to row number, so the id lookup costs 12 bytes per slot instead of a
+ * boxed {@code HashMap} entry. Entries are never removed: deleted rows keep their id until the table is compacted.
+ */
+final class LongIntHashMap {
+
+    static final int MISSING = -1;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int get(long key){
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long current = keys[slot];
+            if(current == key){
+                return values[slot];
+            }
+            if(current == EMPTY){
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, int value){
+        if((size + 1) * 2 > keys.length){
+            resize();
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if(keys[slot] == EMPTY){
+            size++;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    long estimatedBytes(){
+        return keys.length * (long) Long.BYTES + values.length * (long) Integer.BYTES;
+    }
+
+    private void resize(){
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != EMPTY){
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask){
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
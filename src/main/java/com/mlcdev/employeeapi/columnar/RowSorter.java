@@ -0,0 +1,104 @@
+package com.mlcdev.employeeapi.columnar;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable merge sort of row numbers by a comparator over the columns, without boxing the rows.
+ * Large arrays are split across the common fork/join pool.
+ */
+final class RowSorter {
+
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int left, int right);
+    }
+
+    private RowSorter() {
+    }
+
+    static void sort(int[] rows, RowComparator comparator){
+        if(rows.length < 2){
+            return;
+        }
+        int[] scratch = rows.clone();
+        if(rows.length < PARALLEL_THRESHOLD){
+            mergeSort(scratch, rows, 0, rows.length, comparator);
+        } else {
+            ForkJoinPool.commonPool().invoke(new SortTask(scratch, rows, 0, rows.length, comparator));
+        }
+    }
+
+    /**
+     * Sorts {@code dst[from, to)} using {@code src} as scratch; both must hold the same rows in that range.
+     */
+    private static void mergeSort(int[] src, int[] dst, int from, int to, RowComparator comparator){
+        if(to - from <= INSERTION_THRESHOLD){
+            insertionSort(dst, from, to, comparator);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(dst, src, from, mid, comparator);
+        mergeSort(dst, src, mid, to, comparator);
+        merge(src, dst, from, mid, to, comparator);
+    }
+
+    private static void insertionSort(int[] rows, int from, int to, RowComparator comparator){
+        for (int i = from + 1; i < to; i++) {
+            int row = rows[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(rows[j], row) > 0) {
+                rows[j + 1] = rows[j];
+                j--;
+            }
+            rows[j + 1] = row;
+        }
+    }
+
+    private static void merge(int[] src, int[] dst, int from, int mid, int to, RowComparator comparator){
+        if(comparator.compare(src[mid - 1], src[mid]) <= 0){
+            System.arraycopy(src, from, dst, from, to - from);
+            return;
+        }
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if(right >= to || (left < mid && comparator.compare(src[left], src[right]) <= 0)){
+                dst[i] = src[left++];
+            } else {
+                dst[i] = src[right++];
+            }
+        }
+    }
+
+    private static final class SortTask extends RecursiveAction {
+
+        private final int[] src;
+        private final int[] dst;
+        private final int from;
+        private final int to;
+        private final RowComparator comparator;
+
+        private SortTask(int[] src, int[] dst, int from, int to, RowComparator comparator) {
+            this.src = src;
+            this.dst = dst;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute(){
+            if(to - from < PARALLEL_THRESHOLD){
+                mergeSort(src, dst, from, to, comparator);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(dst, src, from, mid, comparator), new SortTask(dst, src, mid, to, comparator));
+            merge(src, dst, from, mid, to, comparator);
+        }
+    }
+}
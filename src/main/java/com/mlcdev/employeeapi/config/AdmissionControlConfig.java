@@ -0,0 +1,32 @@
+package com.mlcdev.employeeapi.config;
+
+import com.mlcdev.employeeapi.filter.AdmissionControlFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(@Value("${employee.admission.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+                                                         @Value("${employee.admission.acquire-timeout:100ms}") Duration acquireTimeout,
+                                                         ObjectMapper objectMapper){
+        return new AdmissionControlFilter(maxConcurrentRequests, acquireTimeout, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter filter){
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/app/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
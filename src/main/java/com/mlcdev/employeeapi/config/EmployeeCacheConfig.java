@@ -0,0 +1,33 @@
+package com.mlcdev.employeeapi.config;
+
+import com.mlcdev.employeeapi.cache.EmployeeCache;
+import com.mlcdev.employeeapi.cache.InMemoryEmployeeCache;
+import com.mlcdev.employeeapi.cache.NegativeLookupCache;
+import com.mlcdev.employeeapi.cache.NoOpEmployeeCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class EmployeeCacheConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(EmployeeCache.class)
+    public EmployeeCache employeeCache(@Value("${employee.cache.enabled:true}") boolean enabled,
+                                       @Value("${employee.cache.max-size:10000}") int maxSize,
+                                       @Value("${employee.cache.ttl:10m}") Duration ttl){
+        if(!enabled){
+            return new NoOpEmployeeCache();
+        }
+        return new InMemoryEmployeeCache(maxSize, ttl);
+    }
+
+    @Bean
+    public NegativeLookupCache negativeLookupCache(@Value("${employee.cache.negative.max-size:10000}") int maxSize,
+                                                   @Value("${employee.cache.negative.ttl:5s}") Duration ttl){
+        return new NegativeLookupCache(maxSize, ttl);
+    }
+}
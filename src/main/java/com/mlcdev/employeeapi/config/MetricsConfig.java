@@ -0,0 +1,38 @@
+package com.mlcdev.employeeapi.config;
+
+import com.mlcdev.employeeapi.filter.RequestProfilingFilter;
+import com.mlcdev.employeeapi.metrics.LayerTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public LayerTimingAspect layerTimingAspect(MeterRegistry registry){
+        return new LayerTimingAspect(registry);
+    }
+
+    @Bean
+    public RequestProfilingFilter requestProfilingFilter(MeterRegistry registry,
+                                                         @Value("${employee.metrics.slow-request-threshold:500ms}") Duration slowRequestThreshold,
+                                                         @Value("${employee.jdbc.statement-budget:20}") int statementBudget){
+        return new RequestProfilingFilter(registry, slowRequestThreshold, statementBudget);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestProfilingFilter> requestProfilingFilterRegistration(RequestProfilingFilter filter){
+        FilterRegistrationBean<RequestProfilingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/app/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
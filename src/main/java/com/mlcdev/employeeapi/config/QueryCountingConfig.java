@@ -0,0 +1,29 @@
+package com.mlcdev.employeeapi.config;
+
+import com.mlcdev.employeeapi.metrics.QueryCountingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.jdbc.query-count.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryCountingConfig {
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor(){
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if(bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource) && "dataSource".equals(beanName)){
+                    return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(new QueryCountingListener()).build();
+                }
+                return bean;
+            }
+        };
+    }
+}
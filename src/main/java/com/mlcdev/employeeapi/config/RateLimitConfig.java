@@ -0,0 +1,37 @@
+package com.mlcdev.employeeapi.config;
+
+import com.mlcdev.employeeapi.filter.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration
+@ConditionalOnProperty(name = "employee.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(@Value("${employee.rate-limit.capacity:100}") int capacity,
+                                           @Value("${employee.rate-limit.refill-per-second:50}") double refillPerSecond,
+                                           @Value("${employee.rate-limit.address-multiplier:10}") int addressMultiplier,
+                                           @Value("${employee.rate-limit.rows-per-token:20}") int rowsPerToken,
+                                           @Value("${employee.rate-limit.bulk-cost:50}") int bulkCost,
+                                           @Value("${spring.data.web.pageable.max-page-size:2000}") int maxPageSize,
+                                           @Value("${employee.rate-limit.max-clients:100000}") int maxClients,
+                                           @Value("${employee.rate-limit.client-header:X-Client-Id}") String clientHeader,
+                                           ObjectMapper objectMapper, MeterRegistry registry){
+        return new RateLimitFilter(capacity, refillPerSecond, addressMultiplier, rowsPerToken, bulkCost, maxPageSize, maxClients, clientHeader, objectMapper, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter){
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/app/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 15);
+        return registration;
+    }
+}
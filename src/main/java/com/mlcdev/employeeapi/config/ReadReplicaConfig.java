@@ -0,0 +1,86 @@
+package com.mlcdev.employeeapi.config;
+
+import com.mlcdev.employeeapi.filter.ReadYourWritesFilter;
+import com.mlcdev.employeeapi.routing.ReplicaLagMonitor;
+import com.mlcdev.employeeapi.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Two Hikari pools, "primary" from {@code spring.datasource.*} and "replica" from {@code employee.replica.datasource.*},
+ * behind one {@link LazyConnectionDataSourceProxy}. The proxy only takes a physical connection at the first
+ * statement, once the transaction has marked it read-only, and sends read-only ones to the replica routing.
+ * Both pools are beans, so each reports its own hikaricp.* metrics tagged with its pool name.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties){
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("employee.replica.datasource")
+    public HikariDataSource replicaDataSource(){
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${employee.replica.lag-query:}") String lagQuery,
+                                               @Value("${employee.replica.max-lag:1s}") Duration maxLag, MeterRegistry registry){
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary, @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor, MeterRegistry registry){
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica, lagMonitor, registry));
+        return dataSource;
+    }
+
+    /**
+     * The query cache would keep results read from the replica until the next write to the table, well past the
+     * tolerated lag, so it is turned off while reads are routed.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer disableQueryCacheWithReplica(){
+        return properties -> properties.put("hibernate.cache.use_query_cache", false);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilterRegistration(@Value("${employee.replica.stickiness:5s}") Duration stickiness,
+                                                                                         @Value("${employee.replica.max-clients:100000}") int maxClients,
+                                                                                         @Value("${employee.replica.client-header:X-Client-Id}") String clientHeader,
+                                                                                         MeterRegistry registry){
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(stickiness, maxClients, clientHeader, registry));
+        registration.addUrlPatterns("/app/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 25);
+        return registration;
+    }
+}
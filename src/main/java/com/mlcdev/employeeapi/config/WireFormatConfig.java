@@ -0,0 +1,23 @@
+package com.mlcdev.employeeapi.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.databind.JacksonModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/**
+ * Adds CBOR next to JSON: clients sending {@code Accept: application/cbor} get employees, pages and error
+ * bodies in binary form, and may send request bodies as {@code application/cbor}. The mapper gets the same
+ * Jackson modules as the JSON one, so both formats carry the same fields.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter(ObjectProvider<JacksonModule> modules){
+        CBORMapper mapper = CBORMapper.builder().addModules(modules.orderedStream().toList()).build();
+        return new JacksonCborHttpMessageConverter(mapper);
+    }
+}
@@ -1,59 +1,221 @@
 package com.mlcdev.employeeapi.controller;
 
+import com.mlcdev.employeeapi.changefeed.EmployeeChangeFeed;
+import com.mlcdev.employeeapi.dto.CursorPageDTO;
 import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.dto.EmployeeProjectionDTO;
+import com.mlcdev.employeeapi.dto.BulkUpdateResultDTO;
+import com.mlcdev.employeeapi.dto.EmployeeFilter;
+import com.mlcdev.employeeapi.dto.EmployeePatch;
+import com.mlcdev.employeeapi.dto.ImportSummaryDTO;
+import com.mlcdev.employeeapi.dto.PayrollStatsDTO;
+import com.mlcdev.employeeapi.dto.SalaryAdjustmentDTO;
+import com.mlcdev.employeeapi.dto.WriteTicketDTO;
+import com.mlcdev.employeeapi.exception.BadRequestException;
+import com.mlcdev.employeeapi.exception.ErrorResponses;
+import com.mlcdev.employeeapi.exception.NotFoundException;
+import com.mlcdev.employeeapi.idempotency.IdempotencyStore;
+import com.mlcdev.employeeapi.service.EmployeeExportService;
+import com.mlcdev.employeeapi.service.EmployeeImportService;
 import com.mlcdev.employeeapi.service.EmployeeService;
+import com.mlcdev.employeeapi.service.ExportFormat;
+import com.mlcdev.employeeapi.stats.PayrollStatistics;
+import com.mlcdev.employeeapi.validation.EmployeeBatchValidator;
+import com.mlcdev.employeeapi.validation.EmployeePatchValidator;
+import com.mlcdev.employeeapi.writebehind.EmployeeWriteBehindQueue;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tools.jackson.databind.JsonNode;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
 @RequestMapping(value = "/app/employee")
 public class EmployeeController {
 
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
     private final EmployeeService service;
+    private final EmployeeExportService exportService;
+    private final EmployeeImportService importService;
+    private final EmployeeBatchValidator batchValidator;
+    private final EmployeePatchValidator patchValidator;
+    private final PayrollStatistics statistics;
+    private final EmployeeWriteBehindQueue writeBehind;
+    private final EmployeeChangeFeed changeFeed;
+    private final IdempotencyStore idempotencyStore;
 
-    public EmployeeController(EmployeeService service) {
+    public EmployeeController(EmployeeService service, EmployeeExportService exportService, EmployeeImportService importService, EmployeeBatchValidator batchValidator,
+                              EmployeePatchValidator patchValidator, PayrollStatistics statistics, EmployeeWriteBehindQueue writeBehind, EmployeeChangeFeed changeFeed,
+                              IdempotencyStore idempotencyStore) {
         this.service = service;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.batchValidator = batchValidator;
+        this.patchValidator = patchValidator;
+        this.statistics = statistics;
+        this.writeBehind = writeBehind;
+        this.changeFeed = changeFeed;
+        this.idempotencyStore = idempotencyStore;
     }
 
     @GetMapping(value = "/{id}")
-    public ResponseEntity<EmployeeDTO> findById(@PathVariable Long id){
+    public ResponseEntity<?> findById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                      HttpServletRequest request){
         log.debug("Request received to find employee with ID: {}", id);
-        EmployeeDTO savedDto = service.findById(id);
-        return ResponseEntity.ok(savedDto);
+        Optional<EmployeeDTO> found = service.findOptionalById(id);
+        if(found.isEmpty()){
+            return ErrorResponses.of(HttpStatus.NOT_FOUND, ErrorResponses.employeeNotFound(id), request.getRequestURI());
+        }
+        EmployeeDTO savedDto = found.get();
+        String eTag = EmployeeETags.of(savedDto);
+        if(EmployeeETags.matchesNoneMatch(ifNoneMatch, eTag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(savedDto);
     }
 
     @GetMapping
-    public ResponseEntity<Page<EmployeeDTO>> findAll(@ParameterObject @PageableDefault(page = 0, size = 10) Pageable pageable){
-        log.debug("Request received to find all, with a size of {}, on page {}",pageable.getPageSize(),pageable.getPageNumber());
-        Page<EmployeeDTO> page = service.findAll(pageable);
-        return ResponseEntity.ok(page);
+    public ResponseEntity<Page<?>> findAll(@ParameterObject EmployeeFilter filter, @RequestParam(required = false) List<String> fields,
+                                           @ParameterObject @PageableDefault(page = 0, size = 10) Pageable pageable){
+        log.debug("Request received to find all, with a size of {}, on page {}, filtered by {}, with fields {}",pageable.getPageSize(),pageable.getPageNumber(),filter,fields);
+        Page<EmployeeDTO> page = service.findAll(filter, EmployeeField.parse(fields), pageable);
+        if(fields == null || fields.isEmpty()){
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok(page.map(EmployeeProjectionDTO::from));
+    }
+
+    @GetMapping(value = "/scroll")
+    public ResponseEntity<CursorPageDTO<EmployeeDTO>> scroll(@RequestParam(required = false) String after, @RequestParam(defaultValue = "10") int size){
+        log.debug("Request received to scroll employees, with a size of {}, after cursor {}",size,after);
+        CursorPageDTO<EmployeeDTO> slice = service.scroll(after, size);
+        return ResponseEntity.ok(slice);
+    }
+
+    @GetMapping(value = "/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") ExportFormat format){
+        log.debug("Request received to export all employees as {}",format);
+        StreamingResponseBody body = outputStream -> exportService.export(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=employees." + format.getExtension())
+                .body(body);
+    }
+
+    @GetMapping(value = "/stats")
+    public ResponseEntity<PayrollStatsDTO> stats(){
+        log.debug("Request received to get the payroll statistics");
+        return ResponseEntity.ok(statistics.snapshot());
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestParam(required = false) Long since, @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId){
+        Long cursor = lastEventId != null ? lastEventId : since;
+        log.debug("Request received to subscribe to the change feed after sequence {}",cursor);
+        return changeFeed.subscribe(cursor);
+    }
+
+    @GetMapping(value = "/writes/{ticket}")
+    public ResponseEntity<WriteTicketDTO> writeStatus(@PathVariable String ticket){
+        log.debug("Request received to get the status of write {}",ticket);
+        WriteTicketDTO status = writeBehind.find(ticket).orElseThrow(() -> new NotFoundException("Write with ticket " + ticket + " not found"));
+        return ResponseEntity.ok(status);
     }
 
     @PostMapping
-    public ResponseEntity<EmployeeDTO> create(@Valid @RequestBody EmployeeDTO dto) {
+    public ResponseEntity<?> create(@Valid @RequestBody EmployeeDTO dto,
+                                    @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                    HttpServletRequest request) {
         log.debug("Request received create employee");
+        if(idempotencyKey != null){
+            return idempotencyStore.executeOnce(request, idempotencyKey, dto, () -> add(dto));
+        }
+        return add(dto);
+    }
+
+    private ResponseEntity<?> add(EmployeeDTO dto){
+        if(writeBehind.isEnabled()){
+            return accepted(writeBehind.submitCreate(dto));
+        }
         EmployeeDTO savedDto = service.add(dto);
         URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(savedDto.getId()).toUri();
-        return ResponseEntity.created(uri).body(savedDto);
+        return ResponseEntity.created(uri).eTag(EmployeeETags.of(savedDto)).body(savedDto);
+    }
+
+    @PostMapping(value = "/batch")
+    public ResponseEntity<List<EmployeeDTO>> createBatch(@RequestBody List<EmployeeDTO> dtos) {
+        log.debug("Request received to create {} employees in batch",dtos.size());
+        batchValidator.validateBatch(dtos, false);
+        List<EmployeeDTO> savedDtos = service.addAll(dtos);
+        return ResponseEntity.status(HttpStatus.CREATED).body(savedDtos);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportSummaryDTO> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ExportFormat format = ExportFormat.fromContentType(contentType);
+        log.debug("Request received to import employees as {}",format);
+        ImportSummaryDTO summary = importService.importEmployees(format, body);
+        return ResponseEntity.ok(summary);
     }
 
     @PutMapping(value = "/{id}")
-    public ResponseEntity<EmployeeDTO> update(@PathVariable Long id,@Valid @RequestBody EmployeeDTO dto){
+    public ResponseEntity<?> update(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, @Valid @RequestBody EmployeeDTO dto){
         log.debug("Request received to update the employee with ID: {}",id);
         dto.setId(id);
+        if(writeBehind.isEnabled() && ifMatch == null){
+            return accepted(writeBehind.submitUpdate(dto));
+        }
+        dto.setVersion(EmployeeETags.expectedVersion(id, ifMatch));
         EmployeeDTO updatedDTO = service.update(dto);
-        return ResponseEntity.ok(updatedDTO);
+        return ResponseEntity.ok().eTag(EmployeeETags.of(updatedDTO)).body(updatedDTO);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<EmployeeDTO> patch(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                             @RequestBody JsonNode document){
+        log.debug("Request received to patch the employee with ID: {}",id);
+        EmployeePatch patch = patchValidator.parse(document);
+        EmployeeDTO patchedDto = service.patch(id, patch, EmployeeETags.expectedVersion(id, ifMatch));
+        return ResponseEntity.ok().eTag(EmployeeETags.of(patchedDto)).body(patchedDto);
+    }
+
+    @PatchMapping
+    public ResponseEntity<BulkUpdateResultDTO> adjustSalaries(@ParameterObject EmployeeFilter filter, @RequestBody SalaryAdjustmentDTO adjustment){
+        log.debug("Request received to adjust salaries by {}, filtered by {}",adjustment,filter);
+        if(!filter.hasCriteria()){
+            throw new BadRequestException("Specify at least one filter to adjust salaries");
+        }
+        int updated = service.adjustSalaries(filter, adjustment);
+        return ResponseEntity.ok(new BulkUpdateResultDTO(updated));
+    }
+
+    @PutMapping(value = "/batch")
+    public ResponseEntity<List<EmployeeDTO>> updateBatch(@RequestBody List<EmployeeDTO> dtos){
+        log.debug("Request received to update {} employees in batch",dtos.size());
+        batchValidator.validateBatch(dtos, true);
+        List<EmployeeDTO> updatedDtos = service.updateAll(dtos);
+        return ResponseEntity.ok(updatedDtos);
     }
 
     @DeleteMapping(value = "/{id}")
@@ -63,5 +225,15 @@ public class EmployeeController {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping(value = "/batch")
+    public ResponseEntity<Void> deleteBatch(@RequestBody List<Long> ids){
+        log.debug("Request received to delete {} employees in batch",ids.size());
+        service.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
 
+    private static ResponseEntity<WriteTicketDTO> accepted(WriteTicketDTO ticket){
+        URI uri = ServletUriComponentsBuilder.fromCurrentContextPath().path("/app/employee/writes/{ticket}").buildAndExpand(ticket.ticket()).toUri();
+        return ResponseEntity.accepted().location(uri).body(ticket);
+    }
 }
@@ -0,0 +1,49 @@
+package com.mlcdev.employeeapi.controller;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.exception.PreconditionFailedException;
+
+final class EmployeeETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private EmployeeETags() {
+    }
+
+    static String of(EmployeeDTO dto){
+        return "\"" + dto.getId() + "-" + dto.getVersion() + "\"";
+    }
+
+    static boolean matchesNoneMatch(String ifNoneMatch, String eTag){
+        if(ifNoneMatch == null || ifNoneMatch.isBlank()){
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if(tag.equals("*") || stripWeak(tag).equals(eTag)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static Long expectedVersion(Long id, String ifMatch){
+        if(ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")){
+            return null;
+        }
+        String tag = ifMatch.trim();
+        String prefix = "\"" + id + "-";
+        if(!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1){
+            throw new PreconditionFailedException("The If-Match header does not match the employee with id " + id);
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e){
+            throw new PreconditionFailedException("The If-Match header does not match the employee with id " + id);
+        }
+    }
+
+    private static String stripWeak(String tag){
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
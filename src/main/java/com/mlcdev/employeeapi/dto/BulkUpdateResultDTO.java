@@ -0,0 +1,4 @@
+package com.mlcdev.employeeapi.dto;
+
+public record BulkUpdateResultDTO(int updated) {
+}
@@ -0,0 +1,10 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mlcdev.employeeapi.event.ChangeType;
+
+import java.time.Instant;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEventDTO(long sequence, ChangeType type, Long id, EmployeeDTO employee, Instant timestamp) {
+}
@@ -0,0 +1,6 @@
+package com.mlcdev.employeeapi.dto;
+
+import java.util.List;
+
+public record CursorPageDTO<T>(List<T> content, int size, boolean hasNext, String next) {
+}
@@ -1,5 +1,6 @@
 package com.mlcdev.employeeapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.mlcdev.employeeapi.model.Role;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -34,4 +35,7 @@ public class EmployeeDTO {
     @NotNull(message = "You must specify the employee role")
     private Role role;
 
+    @JsonIgnore
+    private Long version;
+
 }
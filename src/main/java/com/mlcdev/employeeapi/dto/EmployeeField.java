@@ -0,0 +1,55 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.mlcdev.employeeapi.exception.BadRequestException;
+import com.mlcdev.employeeapi.model.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public enum EmployeeField {
+    ID("id", (dto, value) -> dto.setId((Long) value)),
+    NAME("name", (dto, value) -> dto.setName((String) value)),
+    SALARY("salary", (dto, value) -> dto.setSalary((BigDecimal) value)),
+    HIRING_DATE("hiringDate", (dto, value) -> dto.setHiringDate((LocalDate) value)),
+    ROLE("role", (dto, value) -> dto.setRole((Role) value));
+
+    private final String property;
+    private final BiConsumer<EmployeeDTO, Object> setter;
+
+    EmployeeField(String property, BiConsumer<EmployeeDTO, Object> setter) {
+        this.property = property;
+        this.setter = setter;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public void set(EmployeeDTO dto, Object value){
+        setter.accept(dto, value);
+    }
+
+    public static Set<EmployeeField> parse(Collection<String> names){
+        if(names == null || names.isEmpty()){
+            return EnumSet.allOf(EmployeeField.class);
+        }
+        Set<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+        for (String name : names) {
+            fields.add(fromProperty(name.trim()));
+        }
+        return fields;
+    }
+
+    private static EmployeeField fromProperty(String name){
+        for (EmployeeField field : values()) {
+            if(field.property.equals(name)){
+                return field;
+            }
+        }
+        throw new BadRequestException("Unknown field: " + name);
+    }
+}
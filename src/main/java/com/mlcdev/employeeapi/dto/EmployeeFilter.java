@@ -0,0 +1,24 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.mlcdev.employeeapi.model.Role;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record EmployeeFilter(Role role,
+                             BigDecimal minSalary,
+                             BigDecimal maxSalary,
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredAfter,
+                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hiredBefore,
+                             String namePrefix) {
+
+    public static EmployeeFilter none(){
+        return new EmployeeFilter(null, null, null, null, null, null);
+    }
+
+    public boolean hasCriteria(){
+        return role != null || minSalary != null || maxSalary != null || hiredAfter != null || hiredBefore != null
+                || (namePrefix != null && !namePrefix.isBlank());
+    }
+}
@@ -0,0 +1,9 @@
+package com.mlcdev.employeeapi.dto;
+
+import java.util.Set;
+
+/**
+ * Parsed JSON Merge Patch: the supplied values and which fields were present in the document.
+ */
+public record EmployeePatch(EmployeeDTO values, Set<EmployeeField> fields) {
+}
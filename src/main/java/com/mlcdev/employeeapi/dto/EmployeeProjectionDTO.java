@@ -0,0 +1,19 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mlcdev.employeeapi.model.Role;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * List entry for a request that narrowed the columns with {@code fields}; the fields that were not selected are
+ * left out of the JSON instead of being written as null.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeProjectionDTO(Long id, String name, BigDecimal salary, LocalDate hiringDate, Role role) {
+
+    public static EmployeeProjectionDTO from(EmployeeDTO dto){
+        return new EmployeeProjectionDTO(dto.getId(), dto.getName(), dto.getSalary(), dto.getHiringDate(), dto.getRole());
+    }
+}
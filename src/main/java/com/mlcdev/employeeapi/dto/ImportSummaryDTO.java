@@ -0,0 +1,6 @@
+package com.mlcdev.employeeapi.dto;
+
+import java.util.List;
+
+public record ImportSummaryDTO(long accepted, long rejected, long durationMillis, List<RejectedRowDTO> rejectedRows) {
+}
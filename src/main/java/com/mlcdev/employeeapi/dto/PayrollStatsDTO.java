@@ -0,0 +1,8 @@
+package com.mlcdev.employeeapi.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record PayrollStatsDTO(long headcount, BigDecimal totalSalary, BigDecimal averageSalary, List<RoleStatsDTO> roles, Map<String, Long> hiresPerMonth) {
+}
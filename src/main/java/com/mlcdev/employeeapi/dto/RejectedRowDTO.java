@@ -0,0 +1,8 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.mlcdev.employeeapi.exception.FieldMessage;
+
+import java.util.List;
+
+public record RejectedRowDTO(long line, List<FieldMessage> errors) {
+}
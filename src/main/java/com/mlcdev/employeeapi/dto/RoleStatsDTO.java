@@ -0,0 +1,8 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.mlcdev.employeeapi.model.Role;
+
+import java.math.BigDecimal;
+
+public record RoleStatsDTO(Role role, long headcount, BigDecimal totalSalary, BigDecimal averageSalary, BigDecimal minSalary, BigDecimal maxSalary) {
+}
@@ -0,0 +1,6 @@
+package com.mlcdev.employeeapi.dto;
+
+import java.math.BigDecimal;
+
+public record SalaryAdjustmentDTO(BigDecimal percent, BigDecimal amount) {
+}
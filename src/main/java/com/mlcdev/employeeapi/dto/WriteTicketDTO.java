@@ -0,0 +1,8 @@
+package com.mlcdev.employeeapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mlcdev.employeeapi.writebehind.WriteStatus;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WriteTicketDTO(String ticket, WriteStatus status, Long employeeId, String error) {
+}
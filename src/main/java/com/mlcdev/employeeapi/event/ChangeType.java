@@ -0,0 +1,5 @@
+package com.mlcdev.employeeapi.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED, BULK_UPDATED;
+}
@@ -0,0 +1,6 @@
+package com.mlcdev.employeeapi.event;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+
+public record EmployeeChangedEvent(ChangeType type, Long id, EmployeeDTO previous, EmployeeDTO current) {
+}
@@ -0,0 +1,17 @@
+package com.mlcdev.employeeapi.exception;
+
+import java.util.List;
+
+public class BatchValidationException extends RuntimeException {
+
+    private final List<FieldMessage> errors;
+
+    public BatchValidationException(List<FieldMessage> errors) {
+        super("Invalid Data on " + errors.size() + " fields");
+        this.errors = errors;
+    }
+
+    public List<FieldMessage> getErrors() {
+        return errors;
+    }
+}
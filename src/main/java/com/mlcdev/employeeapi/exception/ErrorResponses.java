@@ -0,0 +1,25 @@
+package com.mlcdev.employeeapi.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+public final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    public static ResponseEntity<CustomError> of(HttpStatus status, String message, String path){
+        return ResponseEntity.status(status).body(new CustomError(Instant.now(), status.value(), message, path));
+    }
+
+    public static ResponseEntity<CustomError> of(HttpStatus status, String message, String path, HttpHeaders headers){
+        return ResponseEntity.status(status).headers(headers).body(new CustomError(Instant.now(), status.value(), message, path));
+    }
+
+    public static String employeeNotFound(Long id){
+        return "Employee with ID: " + id + " not found";
+    }
+}
@@ -5,9 +5,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.core.PropertyReferenceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -24,9 +26,43 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<CustomError> notFound(NotFoundException e, HttpServletRequest request){
-        HttpStatus status = HttpStatus.NOT_FOUND;
-        CustomError error = new CustomError(Instant.now(), status.value(), e.getMessage(), request.getRequestURI());
-        return ResponseEntity.status(status).body(error);
+        return ErrorResponses.of(HttpStatus.NOT_FOUND, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<CustomError> preconditionFailed(PreconditionFailedException e, HttpServletRequest request){
+        log.error("Precondition failed error: {}", e.getMessage());
+        return ErrorResponses.of(HttpStatus.PRECONDITION_FAILED, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<CustomError> concurrentModification(ObjectOptimisticLockingFailureException e, HttpServletRequest request){
+        log.error("Concurrent modification error: {}", e.getMessage());
+        return ErrorResponses.of(HttpStatus.CONFLICT, "The employee was modified by another request", request.getRequestURI());
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<CustomError> badRequest(BadRequestException e, HttpServletRequest request){
+        log.error("Bad request error: {}", e.getMessage());
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(WriteQueueFullException.class)
+    public ResponseEntity<CustomError> writeQueueFull(WriteQueueFullException e, HttpServletRequest request){
+        log.error("Write queue full error: {}", e.getMessage());
+        return ErrorResponses.of(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), request.getRequestURI(), retryAfterSecond());
+    }
+
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<CustomError> idempotencyKeyMismatch(IdempotencyKeyMismatchException e, HttpServletRequest request){
+        log.error("Idempotency key mismatch error: {}", e.getMessage());
+        return ErrorResponses.of(HttpStatus.UNPROCESSABLE_CONTENT, e.getMessage(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<CustomError> idempotencyKeyInProgress(IdempotencyKeyInProgressException e, HttpServletRequest request){
+        log.error("Idempotency key in progress error: {}", e.getMessage());
+        return ErrorResponses.of(HttpStatus.CONFLICT, e.getMessage(), request.getRequestURI(), retryAfterSecond());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -38,6 +74,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(error);
     }
 
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<ValidationError> batchNotValid(BatchValidationException e, HttpServletRequest request){
+        HttpStatus status = HttpStatus.UNPROCESSABLE_CONTENT;
+        ValidationError error = new ValidationError(Instant.now(), status.value(), "Invalid Data", request.getRequestURI());
+        e.getErrors().forEach(x -> error.addError(x.fieldName(), x.message()));
+        log.error("Not Valid Batch error: {}",e.getMessage());
+        return ResponseEntity.status(status).body(error);
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ValidationError> jsonError(HttpMessageNotReadableException e, HttpServletRequest request){
         HttpStatus status = HttpStatus.UNPROCESSABLE_CONTENT;
@@ -51,35 +96,31 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<CustomError> dataBaseError(DataIntegrityViolationException e, HttpServletRequest request){
-        HttpStatus status = HttpStatus.CONFLICT;
-        CustomError err = new CustomError(Instant.now(), status.value() , "The request violates the Database integrity", request.getRequestURI());
         log.error("Database error: {}",e.getMessage());
-        return ResponseEntity.status(status).body(err);
+        return ErrorResponses.of(HttpStatus.CONFLICT, "The request violates the Database integrity", request.getRequestURI());
     }
 
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<CustomError> invalidParam(MethodArgumentTypeMismatchException e, HttpServletRequest request){
-        HttpStatus status = HttpStatus.BAD_REQUEST;
-        CustomError err = new CustomError(Instant.now(), status.value(), "Invalid Parameter", request.getRequestURI());
         log.error("Invalid Parameter error: {}",e.getMessage());
-        return ResponseEntity.status(status).body(err);
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, "Invalid Parameter", request.getRequestURI());
     }
 
     @ExceptionHandler(PropertyReferenceException.class)
     public ResponseEntity<CustomError> invalidProperty(PropertyReferenceException e, HttpServletRequest request){
-        HttpStatus status = HttpStatus.BAD_REQUEST;
-        CustomError err = new CustomError(Instant.now(), status.value(), "Invalid property", request.getRequestURI());
         log.error("Invalid property error: {}", e.getMessage());
-        return ResponseEntity.status(status).body(err);
+        return ErrorResponses.of(HttpStatus.BAD_REQUEST, "Invalid property", request.getRequestURI());
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<CustomError> genericError(Exception e, HttpServletRequest request){
-        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
-        CustomError err = new CustomError(Instant.now(), status.value(), "Unexpected Error Occurred", request.getRequestURI());
         log.error("Unexpected error: {}", e.getMessage());
-        return ResponseEntity.status(status).body(err);
+        return ErrorResponses.of(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected Error Occurred", request.getRequestURI());
     }
 
-
+    private static HttpHeaders retryAfterSecond(){
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
 }
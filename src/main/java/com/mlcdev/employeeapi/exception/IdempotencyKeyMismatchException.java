@@ -0,0 +1,7 @@
+package com.mlcdev.employeeapi.exception;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,11 @@
 package com.mlcdev.employeeapi.exception;
 
+/**
+ * Stackless: a missing employee is an expected outcome, and filling in the stack trace was the
+ * biggest cost of every 404.
+ */
 public class NotFoundException extends RuntimeException {
     public NotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,122 @@
+package com.mlcdev.employeeapi.filter;
+
+import com.mlcdev.employeeapi.exception.CustomError;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps the number of requests allowed to work concurrently, so that a large number of (virtual) request
+ * threads queue here for a short time and fail fast with 503 instead of piling up on the connection pool.
+ * An asynchronous request such as an export keeps its permit until it completes. The change feed is not
+ * admitted here: its subscriptions stay open and mostly idle, and would otherwise hold permits indefinitely.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String CHANGE_FEED_PATH = "/app/employee/changes";
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+    private final ObjectMapper objectMapper;
+    private final LongAdder rejected = new LongAdder();
+
+    public AdmissionControlFilter(int maxConcurrentRequests, Duration acquireTimeout, ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return CHANGE_FEED_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if(!acquired){
+            rejected.increment();
+            log.warn("Request {} {} rejected, server saturated",request.getMethod(),request.getRequestURI());
+            HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+            CustomError error = new CustomError(Instant.now(), status.value(), "Server is busy, try again later", request.getRequestURI());
+            response.setStatus(status.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if(async){
+                request.getAsyncContext().addListener(new PermitReleasingListener());
+            } else {
+                permits.release();
+            }
+        }
+    }
+
+    public int availablePermits(){
+        return permits.availablePermits();
+    }
+
+    public long rejectedCount(){
+        return rejected.sum();
+    }
+
+    private class PermitReleasingListener implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(){
+            if(released.compareAndSet(false, true)){
+                permits.release();
+            }
+        }
+    }
+}
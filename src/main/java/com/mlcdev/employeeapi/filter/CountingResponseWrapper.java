@@ -0,0 +1,113 @@
+package com.mlcdev.employeeapi.filter;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.FilterWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the body bytes written to the response without buffering them, so streamed exports stay streamed.
+ * Text written through the writer is counted in characters.
+ */
+class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final LongAdder bytesWritten = new LongAdder();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CountingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if(outputStream == null){
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if(writer == null){
+            writer = new PrintWriter(new CountingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    private class CountingWriter extends FilterWriter {
+
+        private CountingWriter(Writer delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            super.write(c);
+            bytesWritten.increment();
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            super.write(cbuf, off, len);
+            bytesWritten.add(len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            super.write(str, off, len);
+            bytesWritten.add(len);
+        }
+    }
+
+    private class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytesWritten.increment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytesWritten.add(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
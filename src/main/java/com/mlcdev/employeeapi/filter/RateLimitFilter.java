@@ -0,0 +1,202 @@
+package com.mlcdev.employeeapi.filter;
+
+import com.mlcdev.employeeapi.exception.CustomError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token bucket. Clients are identified by the configured header (X-Client-Id by default) or by the
+ * remote address, and every request takes a number of tokens that grows with the work it asks for: list pages
+ * cost one token plus one per {@code rowsPerToken} rows, exports, imports and batch writes cost {@code bulkCost}.
+ * <p>
+ * A request carrying the header is also charged to a bucket of its remote address that is {@code addressMultiplier}
+ * times larger and refills as much faster, so rotating the header value does not buy fresh buckets, while several
+ * identified clients behind one gateway still get their own limits.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the instant from which its tokens accrue (the GCRA form of a
+ * token bucket: it is full once that instant lies {@code capacity} tokens in the past), so taking tokens is one
+ * compare-and-set and no lock is shared between clients.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIST_PATH = "/app/employee";
+    private static final String SCROLL_PATH = "/app/employee/scroll";
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Limit clientLimit;
+    private final Limit addressLimit;
+    private final int rowsPerToken;
+    private final int bulkCost;
+    private final int maxPageSize;
+    private final int maxClients;
+    private final String clientHeader;
+    private final ObjectMapper objectMapper;
+    private final Counter throttledList;
+    private final Counter throttledBulk;
+    private final Counter throttledOther;
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    public RateLimitFilter(int capacity, double refillPerSecond, int addressMultiplier, int rowsPerToken, int bulkCost, int maxPageSize, int maxClients,
+                           String clientHeader, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.clientLimit = Limit.of(capacity, refillPerSecond);
+        this.addressLimit = Limit.of(capacity * addressMultiplier, refillPerSecond * addressMultiplier);
+        this.rowsPerToken = rowsPerToken;
+        this.bulkCost = bulkCost;
+        this.maxPageSize = maxPageSize;
+        this.maxClients = maxClients;
+        this.clientHeader = clientHeader;
+        this.objectMapper = objectMapper;
+        this.throttledList = throttledCounter(registry, "list");
+        this.throttledBulk = throttledCounter(registry, "bulk");
+        this.throttledOther = throttledCounter(registry, "other");
+        Gauge.builder("employeeapi.rate_limit.clients", buckets, Map::size).register(registry);
+    }
+
+    private static Counter throttledCounter(MeterRegistry registry, String endpoint){
+        return Counter.builder("employeeapi.rate_limit.throttled").tag("endpoint", endpoint).register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+        sweepIdleBuckets(now);
+        String clientId = clientId(request);
+        String client = clientId != null ? "id:" + clientId : "ip:" + request.getRemoteAddr();
+        int cost = cost(request);
+        AtomicLong clientBucket = bucket(client, clientLimit, now);
+        long waitNanos = tryAcquire(clientBucket, clientLimit, cost, now);
+        if(waitNanos == 0 && clientId != null){
+            waitNanos = tryAcquire(bucket("addr:" + request.getRemoteAddr(), addressLimit, now), addressLimit, cost, now);
+            if(waitNanos != 0){
+                clientBucket.addAndGet(-clientLimit.costNanos(cost));
+                client = client + " at " + request.getRemoteAddr();
+            }
+        }
+        if(waitNanos == 0){
+            filterChain.doFilter(request, response);
+            return;
+        }
+        throttledCounter(request).increment();
+        log.warn("Request {} {} from client {} throttled, cost {} tokens",request.getMethod(),request.getRequestURI(),client,cost);
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        CustomError error = new CustomError(Instant.now(), status.value(), "Too many requests, try again later", request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Takes {@code cost} tokens from the bucket, returning 0 on success or how long the client has to wait.
+     * A request costing more than the whole bucket is charged the full bucket, so it can still pass when idle.
+     */
+    private static long tryAcquire(AtomicLong emptyAt, Limit limit, int cost, long now){
+        long costNanos = limit.costNanos(cost);
+        while (true) {
+            long current = emptyAt.get();
+            long next = Math.max(current, now - limit.burstNanos()) + costNanos;
+            long overdraft = next - now;
+            if(overdraft > 0){
+                return overdraft;
+            }
+            if(emptyAt.compareAndSet(current, next)){
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong bucket(String key, Limit limit, long now){
+        return buckets.computeIfAbsent(key, ignored -> new AtomicLong(now - limit.burstNanos()));
+    }
+
+    private String clientId(HttpServletRequest request){
+        String clientId = request.getHeader(clientHeader);
+        if(clientId != null && !clientId.isBlank() && clientId.length() <= MAX_CLIENT_ID_LENGTH){
+            return clientId;
+        }
+        return null;
+    }
+
+    private int cost(HttpServletRequest request){
+        String path = request.getRequestURI();
+        if(isBulk(request.getMethod(), path)){
+            return bulkCost;
+        }
+        if("GET".equals(request.getMethod()) && (LIST_PATH.equals(path) || SCROLL_PATH.equals(path))){
+            return 1 + pageSize(request) / rowsPerToken;
+        }
+        return 1;
+    }
+
+    private static boolean isBulk(String method, String path){
+        return path.endsWith("/batch") || path.endsWith("/import") || ("GET".equals(method) && path.endsWith("/export"))
+                || ("PATCH".equals(method) && LIST_PATH.equals(path));
+    }
+
+    private int pageSize(HttpServletRequest request){
+        String size = request.getParameter("size");
+        if(size == null){
+            return 10;
+        }
+        try {
+            return Math.clamp(Integer.parseInt(size), 1, maxPageSize);
+        } catch (NumberFormatException e){
+            return 10;
+        }
+    }
+
+    private Counter throttledCounter(HttpServletRequest request){
+        String path = request.getRequestURI();
+        if(isBulk(request.getMethod(), path)){
+            return throttledBulk;
+        }
+        return LIST_PATH.equals(path) || SCROLL_PATH.equals(path) ? throttledList : throttledOther;
+    }
+
+    /**
+     * A bucket that has refilled completely holds no information, so once the map grows past {@code maxClients}
+     * those are dropped (at most once per second, by whichever request gets there first).
+     */
+    private void sweepIdleBuckets(long now){
+        long lastSweep = lastSweepNanos.get();
+        if(buckets.size() <= maxClients || now - lastSweep < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(lastSweep, now)){
+            return;
+        }
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now - (entry.getKey().startsWith("addr:") ? addressLimit : clientLimit).burstNanos());
+        log.info("Rate limiter dropped {} idle client buckets, {} left",before - buckets.size(),buckets.size());
+    }
+
+    private record Limit(int capacity, long nanosPerToken, long burstNanos) {
+
+        static Limit of(int capacity, double refillPerSecond){
+            long nanosPerToken = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+            return new Limit(capacity, nanosPerToken, capacity * nanosPerToken);
+        }
+
+        long costNanos(int cost){
+            return Math.min(cost, capacity) * nanosPerToken;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.mlcdev.employeeapi.filter;
+
+import com.mlcdev.employeeapi.routing.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-your-writes for replica routing. Writes, and any request from a client that wrote within {@code stickiness},
+ * run pinned to the primary, so a client never reads a replica that may not have its own change yet.
+ * <p>
+ * Every write answers with the time of the write in the {@value #LAST_WRITE} cookie and header, and a request
+ * sending either back within {@code stickiness} is pinned by whichever instance serves it. Clients that send
+ * neither are still tracked per instance, identified like in {@link RateLimitFilter}.
+ */
+@Slf4j
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE = "X-Last-Write";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long stickinessNanos;
+    private final int maxClients;
+    private final String clientHeader;
+    private final AtomicLong lastSweepNanos = new AtomicLong(System.nanoTime());
+
+    public ReadYourWritesFilter(Duration stickiness, int maxClients, String clientHeader, MeterRegistry registry) {
+        this.stickinessNanos = stickiness.toNanos();
+        this.maxClients = maxClients;
+        this.clientHeader = clientHeader;
+        Gauge.builder("employeeapi.datasource.sticky_clients", lastWriteNanos, Map::size).register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String client = clientKey(request);
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if(write){
+            rememberWrite(response);
+        }
+        if(write || wroteRecently(client, System.nanoTime()) || wroteRecently(request)){
+            ReplicaRoutingDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+            if(write && response.getStatus() < 400){
+                long now = System.nanoTime();
+                lastWriteNanos.put(client, now);
+                sweepExpired(now);
+            }
+        }
+    }
+
+    /**
+     * Set before the chain runs, since the response may be committed by the time it returns.
+     */
+    private void rememberWrite(HttpServletResponse response){
+        String now = String.valueOf(System.currentTimeMillis());
+        response.setHeader(LAST_WRITE, now);
+        Cookie cookie = new Cookie(LAST_WRITE, now);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(stickinessNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        response.addCookie(cookie);
+    }
+
+    /**
+     * Honors a last write reported by the client, ignoring values too far in the future to come from another instance's clock.
+     */
+    private boolean wroteRecently(HttpServletRequest request){
+        String lastWrite = request.getHeader(LAST_WRITE);
+        if(lastWrite == null && request.getCookies() != null){
+            for (Cookie cookie : request.getCookies()) {
+                if(LAST_WRITE.equals(cookie.getName())){
+                    lastWrite = cookie.getValue();
+                }
+            }
+        }
+        if(lastWrite == null){
+            return false;
+        }
+        try {
+            long stickinessMillis = TimeUnit.NANOSECONDS.toMillis(stickinessNanos);
+            long elapsed = System.currentTimeMillis() - Long.parseLong(lastWrite);
+            return elapsed < stickinessMillis && elapsed > -stickinessMillis;
+        } catch (NumberFormatException e){
+            return false;
+        }
+    }
+
+    private boolean wroteRecently(String client, long now){
+        Long lastWrite = lastWriteNanos.get(client);
+        return lastWrite != null && now - lastWrite < stickinessNanos;
+    }
+
+    private String clientKey(HttpServletRequest request){
+        String clientId = request.getHeader(clientHeader);
+        if(clientId != null && !clientId.isBlank() && clientId.length() <= MAX_CLIENT_ID_LENGTH){
+            return "id:" + clientId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void sweepExpired(long now){
+        long lastSweep = lastSweepNanos.get();
+        if(lastWriteNanos.size() <= maxClients || now - lastSweep < SWEEP_INTERVAL_NANOS || !lastSweepNanos.compareAndSet(lastSweep, now)){
+            return;
+        }
+        int before = lastWriteNanos.size();
+        lastWriteNanos.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+        log.info("Read-your-writes dropped {} expired clients, {} left",before - lastWriteNanos.size(),lastWriteNanos.size());
+    }
+}
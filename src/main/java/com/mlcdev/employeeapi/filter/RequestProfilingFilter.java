@@ -0,0 +1,94 @@
+package com.mlcdev.employeeapi.filter;
+
+import com.mlcdev.employeeapi.metrics.RequestProfile;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a {@link RequestProfile} to the request, records the response size and statement count per endpoint
+ * and logs a breakdown of requests slower than the configured threshold or issuing more statements than the budget. Async requests (streamed exports)
+ * are recorded when their async dispatch completes.
+ */
+@Slf4j
+public class RequestProfilingFilter extends OncePerRequestFilter {
+
+    private static final String PROFILE_ATTRIBUTE = RequestProfilingFilter.class.getName() + ".profile";
+    private static final String RESPONSE_ATTRIBUTE = RequestProfilingFilter.class.getName() + ".response";
+
+    private final MeterRegistry registry;
+    private final long slowRequestThresholdNanos;
+    private final int statementBudget;
+
+    public RequestProfilingFilter(MeterRegistry registry, Duration slowRequestThreshold, int statementBudget) {
+        this.registry = registry;
+        this.slowRequestThresholdNanos = slowRequestThreshold.toNanos();
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestProfile profile = (RequestProfile) request.getAttribute(PROFILE_ATTRIBUTE);
+        CountingResponseWrapper wrapper = (CountingResponseWrapper) request.getAttribute(RESPONSE_ATTRIBUTE);
+        if(profile == null){
+            profile = new RequestProfile();
+            wrapper = new CountingResponseWrapper(response);
+            request.setAttribute(PROFILE_ATTRIBUTE, profile);
+            request.setAttribute(RESPONSE_ATTRIBUTE, wrapper);
+        }
+        RequestProfile.bind(profile);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestProfile.unbind();
+            if(!request.isAsyncStarted()){
+                record(request, wrapper, profile);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponseWrapper response, RequestProfile profile){
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String status = String.valueOf(response.getStatus());
+        DistributionSummary.builder("employeeapi.response.size")
+                .baseUnit("bytes")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .tag("status", status)
+                .register(registry)
+                .record(response.getBytesWritten());
+        DistributionSummary.builder("employeeapi.request.statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .record(profile.statements());
+        if(profile.statements() > statementBudget){
+            log.warn("Request {} {} issued {} statements, over the budget of {}",request.getMethod(),request.getRequestURI(),profile.statements(),statementBudget);
+        }
+        long elapsedNanos = profile.elapsedNanos();
+        if(elapsedNanos >= slowRequestThresholdNanos){
+            long serviceMillis = TimeUnit.NANOSECONDS.toMillis(profile.layerNanos(RequestProfile.Layer.SERVICE));
+            long repositoryMillis = TimeUnit.NANOSECONDS.toMillis(profile.layerNanos(RequestProfile.Layer.REPOSITORY));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+            log.warn("Slow request {} {} took {} ms: service {} ms (repository {} ms), web and serialization {} ms, {} statements, {} bytes, status {}",
+                    request.getMethod(), request.getRequestURI(), elapsedMillis, serviceMillis, repositoryMillis,
+                    elapsedMillis - serviceMillis, profile.statements(), response.getBytesWritten(), status);
+        }
+    }
+}
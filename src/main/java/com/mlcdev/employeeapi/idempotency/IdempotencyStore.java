@@ -0,0 +1,294 @@
+package com.mlcdev.employeeapi.idempotency;
+
+import com.mlcdev.employeeapi.exception.BadRequestException;
+import com.mlcdev.employeeapi.exception.IdempotencyKeyInProgressException;
+import com.mlcdev.employeeapi.exception.IdempotencyKeyMismatchException;
+import com.mlcdev.employeeapi.model.IdempotencyRecord;
+import com.mlcdev.employeeapi.repository.IdempotencyRecordRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and client, and replays its first successful response to retries.
+ * The client is the configured header (X-Client-Id by default) or the remote address, so two clients that happen
+ * to pick the same key neither collide nor see each other's responses. Keys live in a bounded in-memory map for
+ * {@code ttl}; a retry arriving while the first request is still running waits for it instead of running again.
+ * Failed requests are not stored, so they can be retried. Responses are stored serialized, so nothing can change
+ * a stored body after it was recorded.
+ * <p>
+ * With {@code employee.idempotency.persistent=true} the response is also written to tb_idempotency_key in the
+ * same transaction as the request, so keys survive restarts and are shared between instances.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_CLIENT_ID_LENGTH = 64;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String clientHeader;
+    private final boolean persistent;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitTimeoutNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter awaited;
+    private final Counter rejected;
+
+    public IdempotencyStore(IdempotencyRecordRepository recordRepository, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                            MeterRegistry registry,
+                            @Value("${employee.idempotency.client-header:X-Client-Id}") String clientHeader,
+                            @Value("${employee.idempotency.persistent:false}") boolean persistent,
+                            @Value("${employee.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${employee.idempotency.max-entries:100000}") int maxEntries,
+                            @Value("${employee.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        this.recordRepository = recordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.clientHeader = clientHeader;
+        this.persistent = persistent;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+        this.executed = requests(registry, "executed");
+        this.replayed = requests(registry, "replayed");
+        this.awaited = requests(registry, "awaited");
+        this.rejected = requests(registry, "rejected");
+        Gauge.builder("employeeapi.idempotency.keys", entries, Map::size).register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String result){
+        return Counter.builder("employeeapi.idempotency.requests").tag("result", result).register(registry);
+    }
+
+    public ResponseEntity<?> executeOnce(HttpServletRequest httpRequest, String key, Object request, Supplier<ResponseEntity<?>> action){
+        if(key.isBlank() || key.length() > MAX_KEY_LENGTH){
+            throw new BadRequestException(HEADER + " must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = scopedKey(client(httpRequest), key);
+        String fingerprint = fingerprint(request);
+        long now = System.nanoTime();
+        Entry own = new Entry(fingerprint, new CompletableFuture<>(), now);
+        Entry existing;
+        while ((existing = entries.putIfAbsent(scopedKey, own)) != null) {
+            if(!existing.expired(now, ttlNanos)){
+                return replay(key, existing, fingerprint);
+            }
+            entries.remove(scopedKey, existing);
+        }
+        insertionOrder.add(scopedKey);
+        evict(now);
+        try {
+            Outcome outcome = persistent ? executeDurably(scopedKey, key, fingerprint, action) : execute(action);
+            own.response().complete(outcome.stored());
+            (outcome.stored().replayed() ? replayed : executed).increment();
+            return outcome.response();
+        } catch (RuntimeException e){
+            entries.remove(scopedKey, own);
+            own.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Outcome execute(Supplier<ResponseEntity<?>> action){
+        ResponseEntity<?> response = action.get();
+        return new Outcome(response, StoredResponse.of(response, objectMapper));
+    }
+
+    private ResponseEntity<?> replay(String key, Entry existing, String fingerprint){
+        if(!existing.fingerprint().equals(fingerprint)){
+            rejected.increment();
+            throw new IdempotencyKeyMismatchException(HEADER + " " + key + " was already used with a different request");
+        }
+        CompletableFuture<StoredResponse> response = existing.response();
+        boolean inFlight = !response.isDone();
+        try {
+            StoredResponse stored = response.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+            (inFlight ? awaited : replayed).increment();
+            log.debug("Replaying response for {} {}",HEADER,key);
+            return stored.asReplay().toResponseEntity(objectMapper);
+        } catch (TimeoutException e){
+            rejected.increment();
+            throw new IdempotencyKeyInProgressException("A request with " + HEADER + " " + key + " is still in progress");
+        } catch (ExecutionException e){
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("A request with " + HEADER + " " + key + " is still in progress");
+        }
+    }
+
+    /**
+     * Checks tb_idempotency_key first, then runs the action and inserts the key in one transaction. When another
+     * instance inserted the same key meanwhile, the insert fails, the action is rolled back and its response replayed.
+     */
+    private Outcome executeDurably(String scopedKey, String key, String fingerprint, Supplier<ResponseEntity<?>> action){
+        Optional<StoredResponse> recorded = findRecorded(scopedKey, key, fingerprint);
+        if(recorded.isPresent()){
+            return new Outcome(recorded.get().toResponseEntity(objectMapper), recorded.get());
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                Outcome outcome = execute(action);
+                StoredResponse stored = outcome.stored();
+                recordRepository.saveAndFlush(new IdempotencyRecord(scopedKey, fingerprint, stored.status(),
+                        stored.location() == null ? null : stored.location().toString(), stored.eTag(), stored.body(), Instant.now()));
+                return outcome;
+            });
+        } catch (DataIntegrityViolationException e){
+            StoredResponse stored = findRecorded(scopedKey, key, fingerprint).orElseThrow(() -> e);
+            return new Outcome(stored.toResponseEntity(objectMapper), stored);
+        }
+    }
+
+    private Optional<StoredResponse> findRecorded(String scopedKey, String key, String fingerprint){
+        Optional<IdempotencyRecord> found = recordRepository.findById(scopedKey);
+        if(found.isEmpty()){
+            return Optional.empty();
+        }
+        IdempotencyRecord record = found.get();
+        if(record.getCreatedAt().isBefore(Instant.now().minusNanos(ttlNanos))){
+            recordRepository.delete(record);
+            return Optional.empty();
+        }
+        if(!record.getFingerprint().equals(fingerprint)){
+            throw new IdempotencyKeyMismatchException(HEADER + " " + key + " was already used with a different request");
+        }
+        return Optional.of(new StoredResponse(record.getStatus(), record.getLocation() == null ? null : URI.create(record.getLocation()),
+                record.getETag(), record.getBody(), true));
+    }
+
+    @Scheduled(fixedDelayString = "${employee.idempotency.purge-interval:10m}")
+    public void purgeExpired(){
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.expired(now, ttlNanos));
+        insertionOrder.removeIf(key -> !entries.containsKey(key));
+        if(persistent){
+            int deleted = recordRepository.deleteCreatedBefore(Instant.now().minusNanos(ttlNanos));
+            log.debug("Purged {} expired idempotency keys",deleted);
+        }
+    }
+
+    /**
+     * Drops expired keys from the head of the insertion order, then the oldest completed ones while over capacity.
+     */
+    private void evict(long now){
+        String oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            Entry entry = entries.get(oldest);
+            boolean removable = entry == null || entry.expired(now, ttlNanos) || (entries.size() > maxEntries && entry.response().isDone());
+            if(!removable){
+                return;
+            }
+            if(insertionOrder.remove(oldest) && entry != null){
+                entries.remove(oldest, entry);
+            }
+        }
+    }
+
+    private String client(HttpServletRequest request){
+        String clientId = request.getHeader(clientHeader);
+        if(clientId != null && !clientId.isBlank() && clientId.length() <= MAX_CLIENT_ID_LENGTH){
+            return "id:" + clientId;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Hashes client and key together, so the scoped key still fits the 255 characters of tb_idempotency_key.
+     */
+    private static String scopedKey(String client, String key){
+        return sha256(client.getBytes(StandardCharsets.UTF_8), new byte[]{0}, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String fingerprint(Object request){
+        return sha256(objectMapper.writeValueAsBytes(request));
+    }
+
+    private static String sha256(byte[]... parts){
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(String fingerprint, CompletableFuture<StoredResponse> response, long createdNanos) {
+
+        boolean expired(long now, long ttlNanos){
+            return now - createdNanos > ttlNanos;
+        }
+    }
+
+    private record Outcome(ResponseEntity<?> response, StoredResponse stored) {
+    }
+
+    private record StoredResponse(int status, URI location, String eTag, String body, boolean replayed) {
+
+        static StoredResponse of(ResponseEntity<?> response, ObjectMapper objectMapper){
+            return new StoredResponse(response.getStatusCode().value(), response.getHeaders().getLocation(), response.getHeaders().getETag(),
+                    response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody()), false);
+        }
+
+        StoredResponse asReplay(){
+            return replayed ? this : new StoredResponse(status, location, eTag, body, true);
+        }
+
+        ResponseEntity<?> toResponseEntity(ObjectMapper objectMapper){
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+            if(location != null){
+                builder.location(location);
+            }
+            if(eTag != null){
+                builder.eTag(eTag);
+            }
+            if(replayed){
+                builder.header(REPLAYED_HEADER, "true");
+            }
+            return body == null ? builder.build() : builder.body(objectMapper.readTree(body));
+        }
+    }
+}
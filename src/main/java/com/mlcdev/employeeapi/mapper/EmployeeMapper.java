@@ -1,8 +1,12 @@
 package com.mlcdev.employeeapi.mapper;
 
 import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.dto.EmployeePatch;
 import com.mlcdev.employeeapi.model.Employee;
 
+import java.util.Set;
+
 public class EmployeeMapper {
 
     private EmployeeMapper() {
@@ -18,6 +22,7 @@ public class EmployeeMapper {
                 .salary(employee.getSalary())
                 .hiringDate(employee.getHiringDate())
                 .role(employee.getRole())
+                .version(employee.getVersion())
                 .build();
     }
 
@@ -42,14 +47,24 @@ public class EmployeeMapper {
         return updatedEntity;
     }
 
-    public static void updateEntityFromDTO(EmployeeDTO dto, Employee entity){
-        if(dto == null || entity == null){
-            return;
+    /**
+     * Copies only the patched fields that differ, so dynamic updates write just the changed columns.
+     */
+    public static void patchEntity(EmployeePatch patch, Employee entity){
+        EmployeeDTO values = patch.values();
+        Set<EmployeeField> fields = patch.fields();
+        if(fields.contains(EmployeeField.NAME) && !values.getName().equals(entity.getName())){
+            entity.setName(values.getName());
+        }
+        if(fields.contains(EmployeeField.SALARY) && values.getSalary().compareTo(entity.getSalary()) != 0){
+            entity.setSalary(values.getSalary());
+        }
+        if(fields.contains(EmployeeField.HIRING_DATE) && !values.getHiringDate().equals(entity.getHiringDate())){
+            entity.setHiringDate(values.getHiringDate());
+        }
+        if(fields.contains(EmployeeField.ROLE) && values.getRole() != entity.getRole()){
+            entity.setRole(values.getRole());
         }
-        entity.setName(dto.getName());
-        entity.setSalary(dto.getSalary());
-        entity.setHiringDate(dto.getHiringDate());
-        entity.setRole(dto.getRole());
     }
 
 }
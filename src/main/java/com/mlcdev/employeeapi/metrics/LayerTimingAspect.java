@@ -0,0 +1,60 @@
+package com.mlcdev.employeeapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records an {@code employeeapi.layer} timer for every service method and repository call,
+ * and adds the time to the current {@link RequestProfile}.
+ */
+@Aspect
+public class LayerTimingAspect {
+
+    private static final String TIMER_NAME = "employeeapi.layer";
+
+    private final MeterRegistry registry;
+
+    public LayerTimingAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("within(com.mlcdev.employeeapi.service..*) && execution(public * *(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestProfile.Layer.SERVICE, joinPoint.getSignature().getDeclaringType().getSimpleName());
+    }
+
+    @Around("target(com.mlcdev.employeeapi.repository.EmployeeRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestProfile.Layer.REPOSITORY, "EmployeeRepository");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, RequestProfile.Layer layer, String className) throws Throwable {
+        RequestProfile profile = RequestProfile.current();
+        boolean outermost = profile != null && profile.enter(layer);
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e){
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if(profile != null){
+                profile.exit(layer, outermost, nanos);
+            }
+            Timer.builder(TIMER_NAME)
+                    .tag("layer", layer.name().toLowerCase())
+                    .tag("class", className)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
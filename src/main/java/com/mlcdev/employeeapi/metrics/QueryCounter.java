@@ -0,0 +1,60 @@
+package com.mlcdev.employeeapi.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Number of JDBC round trips issued by the current thread, fed by {@link QueryCountingListener}.
+ * A batch execution counts as one round trip. Used by tests to pin statement budgets and, while recording,
+ * to inspect the SQL that was actually sent.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<List<Statement>> RECORDED = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static void reset(){
+        COUNT.get()[0] = 0;
+    }
+
+    public static long count(){
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Keeps the SQL and bound parameters of every statement the current thread issues until {@link #stopRecording()}.
+     */
+    public static void startRecording(){
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<Statement> stopRecording(){
+        List<Statement> recorded = RECORDED.get();
+        RECORDED.remove();
+        return recorded == null ? List.of() : recorded;
+    }
+
+    static void increment(){
+        COUNT.get()[0]++;
+    }
+
+    static boolean isRecording(){
+        return RECORDED.get() != null;
+    }
+
+    static void record(String sql, List<Object> parameters){
+        List<Statement> recorded = RECORDED.get();
+        if(recorded != null){
+            recorded.add(new Statement(sql, parameters));
+        }
+    }
+
+    /**
+     * A statement as sent to the driver; {@code parameters} are the values of the first parameter set, in order.
+     */
+    public record Statement(String sql, List<Object> parameters) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.mlcdev.employeeapi.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class QueryCountingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryCounter.increment();
+        if(QueryCounter.isRecording()){
+            queryInfoList.forEach(query -> QueryCounter.record(query.getQuery(), parameters(query)));
+        }
+        RequestProfile profile = RequestProfile.current();
+        if(profile != null){
+            profile.statementExecuted();
+        }
+    }
+
+    private static List<Object> parameters(QueryInfo query){
+        if(query.getParametersList().isEmpty()){
+            return List.of();
+        }
+        return query.getParametersList().getFirst().stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation) ? null : operation.getArgs()[1])
+                .toList();
+    }
+}
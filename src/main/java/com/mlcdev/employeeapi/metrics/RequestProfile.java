@@ -0,0 +1,61 @@
+package com.mlcdev.employeeapi.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-request breakdown of where the time went, bound to the request thread by {@link com.mlcdev.employeeapi.filter.RequestProfilingFilter}.
+ * Nested calls in the same layer are only counted once, at the outermost call.
+ */
+public final class RequestProfile {
+
+    public enum Layer {
+        SERVICE, REPOSITORY
+    }
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<Layer, Long> layerNanos = new EnumMap<>(Layer.class);
+    private final Map<Layer, Integer> depth = new EnumMap<>(Layer.class);
+    private int statements;
+
+    public static RequestProfile current(){
+        return CURRENT.get();
+    }
+
+    public static void bind(RequestProfile profile){
+        CURRENT.set(profile);
+    }
+
+    public static void unbind(){
+        CURRENT.remove();
+    }
+
+    public boolean enter(Layer layer){
+        return depth.merge(layer, 1, Integer::sum) == 1;
+    }
+
+    public void exit(Layer layer, boolean outermost, long nanos){
+        depth.merge(layer, -1, Integer::sum);
+        if(outermost){
+            layerNanos.merge(layer, nanos, Long::sum);
+        }
+    }
+
+    public void statementExecuted(){
+        statements++;
+    }
+
+    public long elapsedNanos(){
+        return System.nanoTime() - startNanos;
+    }
+
+    public long layerNanos(Layer layer){
+        return layerNanos.getOrDefault(layer, 0L);
+    }
+
+    public int statements(){
+        return statements;
+    }
+}
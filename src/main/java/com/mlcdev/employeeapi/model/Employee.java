@@ -2,13 +2,25 @@ package com.mlcdev.employeeapi.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 
 @Entity
-@Table(name = "tb_employee")
+@Table(name = "tb_employee", indexes = {
+        @Index(name = "idx_employee_role", columnList = "role"),
+        @Index(name = "idx_employee_hiring_date", columnList = "hiring_date"),
+        @Index(name = "idx_employee_salary", columnList = "salary"),
+        @Index(name = "idx_employee_name", columnList = "name")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employee")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +30,8 @@ import java.time.LocalDate;
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "tb_employee_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
     @Column(name = "name", nullable = false)
@@ -30,5 +43,9 @@ public class Employee {
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false)
     private Role role;
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
 
 }
@@ -0,0 +1,47 @@
+package com.mlcdev.employeeapi.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * First response stored for an Idempotency-Key. Always inserted, never merged, so two instances racing on the
+ * same key fail on the primary key instead of overwriting each other.
+ */
+@Entity
+@Table(name = "tb_idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_created_at", columnList = "created_at")
+})
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String key;
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+    @Column(name = "status", nullable = false)
+    private Integer status;
+    @Column(name = "location", length = 2048)
+    private String location;
+    @Column(name = "etag")
+    private String eTag;
+    @Column(name = "body", length = 100_000)
+    private String body;
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
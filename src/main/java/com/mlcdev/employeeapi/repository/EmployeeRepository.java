@@ -2,7 +2,31 @@ package com.mlcdev.employeeapi.repository;
 
 
 import com.mlcdev.employeeapi.model.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, JpaSpecificationExecutor<Employee>, EmployeeRepositoryCustom {
+
+    Slice<Employee> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @Query("select e.role, e.salary, count(e) from Employee e group by e.role, e.salary")
+    List<Object[]> countByRoleAndSalary();
+
+    @Query("select extract(year from e.hiringDate), extract(month from e.hiringDate), count(e) from Employee e " +
+            "group by extract(year from e.hiringDate), extract(month from e.hiringDate)")
+    List<Object[]> countHiresByMonth();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")})
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
 }
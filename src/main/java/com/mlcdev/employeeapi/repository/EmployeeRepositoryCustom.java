@@ -0,0 +1,23 @@
+package com.mlcdev.employeeapi.repository;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.model.Employee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public interface EmployeeRepositoryCustom {
+
+    @Transactional(readOnly = true)
+    Page<EmployeeDTO> findAllProjected(Specification<Employee> spec, Set<EmployeeField> fields, Pageable pageable);
+
+    /**
+     * Sets salary to round(salary * factor + amount, 2) and bumps the version of every matching row in one UPDATE.
+     */
+    int adjustSalaries(Specification<Employee> spec, BigDecimal factor, BigDecimal amount);
+}
@@ -0,0 +1,103 @@
+package com.mlcdev.employeeapi.repository;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.model.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.core.PropertyPath;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads only the requested columns into tuples, so list pages never become managed entities.
+ * Page and count results are kept in the employee-query cache region.
+ */
+class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    private static final String QUERY_CACHE_REGION = "employee-query";
+
+    private final EntityManager entityManager;
+
+    EmployeeRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<EmployeeDTO> findAllProjected(Specification<Employee> spec, Set<EmployeeField> fields, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+        List<EmployeeField> selected = List.copyOf(fields);
+        query.multiselect(selected.stream().<Selection<?>>map(field -> root.get(field.getProperty())).toList());
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if(predicate != null){
+            query.where(predicate);
+        }
+        if(pageable.getSort().isSorted()){
+            pageable.getSort().forEach(order -> PropertyPath.from(order.getProperty(), Employee.class));
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION);
+        if(pageable.isPaged()){
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<EmployeeDTO> content = typedQuery.getResultList().stream().map(tuple -> toDTO(tuple, selected)).toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
+    @Override
+    public int adjustSalaries(Specification<Employee> spec, BigDecimal factor, BigDecimal amount) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> root = update.from(Employee.class);
+        update.set(root.<BigDecimal>get("salary"), EmployeeSpecifications.adjustedSalary(root, cb, factor, amount));
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        Predicate predicate = spec.toPredicate(root, null, cb);
+        if(predicate != null){
+            update.where(predicate);
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private long count(Specification<Employee> spec){
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Employee> root = query.from(Employee.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if(predicate != null){
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
+                .getSingleResult();
+    }
+
+    private static EmployeeDTO toDTO(Tuple tuple, List<EmployeeField> selected){
+        EmployeeDTO dto = new EmployeeDTO();
+        for (int i = 0; i < selected.size(); i++) {
+            selected.get(i).set(dto, tuple.get(i));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,59 @@
+package com.mlcdev.employeeapi.repository;
+
+import com.mlcdev.employeeapi.dto.EmployeeFilter;
+import com.mlcdev.employeeapi.model.Employee;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployeeSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> matching(EmployeeFilter filter){
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if(filter.role() != null){
+                predicates.add(cb.equal(root.get("role"), filter.role()));
+            }
+            if(filter.minSalary() != null){
+                predicates.add(cb.greaterThanOrEqualTo(root.get("salary"), filter.minSalary()));
+            }
+            if(filter.maxSalary() != null){
+                predicates.add(cb.lessThanOrEqualTo(root.get("salary"), filter.maxSalary()));
+            }
+            if(filter.hiredAfter() != null){
+                predicates.add(cb.greaterThan(root.get("hiringDate"), filter.hiredAfter()));
+            }
+            if(filter.hiredBefore() != null){
+                predicates.add(cb.lessThan(root.get("hiringDate"), filter.hiredBefore()));
+            }
+            if(filter.namePrefix() != null && !filter.namePrefix().isBlank()){
+                predicates.add(cb.like(root.get("name"), escapeLike(filter.namePrefix()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Employee> salaryPositiveAfter(BigDecimal factor, BigDecimal amount){
+        return (root, query, cb) -> cb.gt(adjustedSalary(root, cb, factor, amount), BigDecimal.ZERO);
+    }
+
+    static Expression<BigDecimal> adjustedSalary(Root<Employee> root, CriteriaBuilder cb, BigDecimal factor, BigDecimal amount){
+        Expression<BigDecimal> salary = cb.sum(cb.prod(root.<BigDecimal>get("salary"), factor), amount);
+        return cb.function("round", BigDecimal.class, salary, cb.literal(2));
+    }
+
+    private static String escapeLike(String value){
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
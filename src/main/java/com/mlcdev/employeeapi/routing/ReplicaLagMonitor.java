@@ -0,0 +1,57 @@
+package com.mlcdev.employeeapi.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically asks the replica how far behind it is with {@code employee.replica.lag-query}, which must return
+ * the lag in seconds. Until the first successful check, and whenever the replica can't be reached, it counts as
+ * out of tolerance so reads stay on the primary. A blank query treats the replica as always in sync.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, MeterRegistry registry) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        Gauge.builder("employeeapi.datasource.replica_lag", this, monitor -> monitor.lagSeconds).baseUnit("seconds").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${employee.replica.lag-check-interval:1s}")
+    public void check(){
+        if(lagQuery == null || lagQuery.isBlank()){
+            lagSeconds = 0;
+            return;
+        }
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            boolean wasWithinTolerance = isWithinTolerance();
+            lagSeconds = lag == null ? 0 : lag.doubleValue();
+            if(wasWithinTolerance && !isWithinTolerance()){
+                log.warn("Replica lag of {}s exceeds {}s, routing reads to the primary",lagSeconds,maxLagSeconds);
+            }
+        } catch (DataAccessException e){
+            if(!Double.isNaN(lagSeconds)){
+                log.warn("Replica lag check failed, routing reads to the primary: {}",e.getMessage());
+            }
+            lagSeconds = Double.NaN;
+        }
+    }
+
+    public boolean isWithinTolerance(){
+        return lagSeconds <= maxLagSeconds;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mlcdev.employeeapi.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Chooses the pool for a read-only transaction: the replica, unless the current thread is pinned to the primary
+ * (read-your-writes) or the replica lags behind more than tolerated. Only asked when a read-only connection is
+ * actually needed, see {@link com.mlcdev.employeeapi.config.ReadReplicaConfig}.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter routedToPrimary;
+    private final Counter routedToReplica;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.routedToPrimary = routed(registry, Target.PRIMARY);
+        this.routedToReplica = routed(registry, Target.REPLICA);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    private static Counter routed(MeterRegistry registry, Target target){
+        return Counter.builder("employeeapi.datasource.read_only_routed").tag("target", target.name().toLowerCase()).register(registry);
+    }
+
+    public static void pinToPrimary(){
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin(){
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Runs the action pinned to the primary and restores the previous pinning, so it can be nested in a pinned request.
+     */
+    public static <T> T onPrimary(Supplier<T> action){
+        Boolean previous = PINNED_TO_PRIMARY.get();
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if(previous == null){
+                PINNED_TO_PRIMARY.remove();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if(PINNED_TO_PRIMARY.get() != null || !lagMonitor.isWithinTolerance()){
+            routedToPrimary.increment();
+            return Target.PRIMARY;
+        }
+        routedToReplica.increment();
+        return Target.REPLICA;
+    }
+}
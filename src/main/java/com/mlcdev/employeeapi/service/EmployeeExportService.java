@@ -0,0 +1,70 @@
+package com.mlcdev.employeeapi.service;
+
+import com.mlcdev.employeeapi.mapper.EmployeeMapper;
+import com.mlcdev.employeeapi.model.Employee;
+import com.mlcdev.employeeapi.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+public class EmployeeExportService {
+
+    private static final String CSV_HEADER = "id,name,salary,hiringDate,role";
+
+    private final EmployeeRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public EmployeeExportService(EmployeeRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        if(format == ExportFormat.CSV){
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        long rows = 0;
+        try (Stream<Employee> employees = repository.streamAll()) {
+            Iterator<Employee> iterator = employees.iterator();
+            while (iterator.hasNext()) {
+                Employee employee = iterator.next();
+                writer.write(format == ExportFormat.CSV ? toCsv(employee) : objectMapper.writeValueAsString(EmployeeMapper.toDTO(employee)));
+                writer.write('\n');
+                entityManager.detach(employee);
+                rows++;
+            }
+        }
+        writer.flush();
+        log.info("Export finished with {} employees in {} format",rows,format);
+    }
+
+    private static String toCsv(Employee employee){
+        return employee.getId() + "," + escapeCsv(employee.getName()) + "," + employee.getSalary().toPlainString() + ","
+                + employee.getHiringDate() + "," + employee.getRole();
+    }
+
+    private static String escapeCsv(String value){
+        if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0){
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
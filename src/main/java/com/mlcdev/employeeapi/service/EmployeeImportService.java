@@ -0,0 +1,204 @@
+package com.mlcdev.employeeapi.service;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.ImportSummaryDTO;
+import com.mlcdev.employeeapi.dto.RejectedRowDTO;
+import com.mlcdev.employeeapi.exception.BadRequestException;
+import com.mlcdev.employeeapi.exception.FieldMessage;
+import com.mlcdev.employeeapi.model.Role;
+import com.mlcdev.employeeapi.validation.EmployeeBatchValidator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class EmployeeImportService {
+
+    private static final int MAX_REPORTED_REJECTIONS = 1000;
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "salary", "hiringDate", "role");
+
+    private final EmployeeService employeeService;
+    private final EmployeeBatchValidator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public EmployeeImportService(EmployeeService employeeService, EmployeeBatchValidator validator, ObjectMapper objectMapper,
+                                 @Value("${employee.batch.chunk-size:500}") int chunkSize) {
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportSummaryDTO importEmployees(ExportFormat format, InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        ImportProgress progress = new ImportProgress();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = format == ExportFormat.CSV ? readCsvHeader(reader, progress) : Map.of();
+        List<EmployeeDTO> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            long lineNumber = ++progress.lineNumber;
+            if(line.isBlank()){
+                continue;
+            }
+            List<FieldMessage> errors = new ArrayList<>();
+            EmployeeDTO dto = format == ExportFormat.CSV ? parseCsv(line, columns, errors) : parseNdjson(line, errors);
+            if(errors.isEmpty()){
+                errors.addAll(validator.validate(dto, "", false));
+            }
+            if(!errors.isEmpty()){
+                progress.reject(lineNumber, errors);
+                continue;
+            }
+            chunk.add(dto);
+            chunkLines.add(lineNumber);
+            if(chunk.size() == chunkSize){
+                commitChunk(chunk, chunkLines, progress);
+            }
+        }
+        commitChunk(chunk, chunkLines, progress);
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        Runtime runtime = Runtime.getRuntime();
+        log.info("Import finished: {} accepted, {} rejected, {} lines in {} ms ({} lines/s), heap used {} MB",
+                progress.accepted, progress.rejected, progress.lineNumber, durationMillis,
+                durationMillis == 0 ? progress.lineNumber : progress.lineNumber * 1000 / durationMillis,
+                (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024));
+        return new ImportSummaryDTO(progress.accepted, progress.rejected, durationMillis, progress.rejectedRows);
+    }
+
+    private void commitChunk(List<EmployeeDTO> chunk, List<Long> chunkLines, ImportProgress progress){
+        if(chunk.isEmpty()){
+            return;
+        }
+        try {
+            employeeService.addAll(chunk);
+            progress.accepted += chunk.size();
+        } catch (DataAccessException e){
+            log.error("Import chunk ending on line {} failed: {}",chunkLines.getLast(),e.getMessage());
+            chunkLines.forEach(lineNumber -> progress.reject(lineNumber, List.of(new FieldMessage("row", "The row could not be saved"))));
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader, ImportProgress progress) throws IOException {
+        String header = reader.readLine();
+        progress.lineNumber++;
+        Map<String, Integer> columns = new HashMap<>();
+        if(header != null){
+            List<String> names = splitCsv(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+        }
+        if(!columns.keySet().containsAll(REQUIRED_CSV_COLUMNS)){
+            throw new BadRequestException("The CSV header must contain the columns " + REQUIRED_CSV_COLUMNS);
+        }
+        return columns;
+    }
+
+    private EmployeeDTO parseNdjson(String line, List<FieldMessage> errors){
+        try {
+            return objectMapper.readValue(line, EmployeeDTO.class);
+        } catch (JacksonException e){
+            errors.add(new FieldMessage("row", "Malformed record"));
+            return null;
+        }
+    }
+
+    private static EmployeeDTO parseCsv(String line, Map<String, Integer> columns, List<FieldMessage> errors){
+        List<String> values = splitCsv(line);
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setName(csvValue(values, columns, "name"));
+        String salary = csvValue(values, columns, "salary");
+        String hiringDate = csvValue(values, columns, "hiringDate");
+        String role = csvValue(values, columns, "role");
+        try {
+            dto.setSalary(salary == null ? null : new BigDecimal(salary));
+        } catch (NumberFormatException e){
+            errors.add(new FieldMessage("salary", "Invalid salary"));
+        }
+        try {
+            dto.setHiringDate(hiringDate == null ? null : LocalDate.parse(hiringDate));
+        } catch (DateTimeParseException e){
+            errors.add(new FieldMessage("hiringDate", "Invalid hiring date"));
+        }
+        try {
+            dto.setRole(role == null ? null : Role.valueOf(role));
+        } catch (IllegalArgumentException e){
+            errors.add(new FieldMessage("role", "Unavailable Role. Available Roles: " + Arrays.toString(Role.values())));
+        }
+        return dto;
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> columns, String column){
+        Integer index = columns.get(column);
+        if(index == null || index >= values.size()){
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsv(String line){
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted){
+                if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"'){
+                    current.append('"');
+                    i++;
+                } else if(c == '"'){
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if(c == '"'){
+                quoted = true;
+            } else if(c == ','){
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static final class ImportProgress {
+        private long lineNumber;
+        private long accepted;
+        private long rejected;
+        private final List<RejectedRowDTO> rejectedRows = new ArrayList<>();
+
+        private void reject(long line, List<FieldMessage> errors){
+            rejected++;
+            if(rejectedRows.size() < MAX_REPORTED_REJECTIONS){
+                rejectedRows.add(new RejectedRowDTO(line, errors));
+            }
+        }
+    }
+}
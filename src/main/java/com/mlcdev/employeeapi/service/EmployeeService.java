@@ -1,39 +1,125 @@
 package com.mlcdev.employeeapi.service;
 
+import com.mlcdev.employeeapi.cache.EmployeeCache;
+import com.mlcdev.employeeapi.cache.NegativeLookupCache;
+import com.mlcdev.employeeapi.columnar.ColumnarEmployeeStore;
+import com.mlcdev.employeeapi.dto.CursorPageDTO;
 import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.dto.EmployeeFilter;
+import com.mlcdev.employeeapi.dto.EmployeePatch;
+import com.mlcdev.employeeapi.dto.SalaryAdjustmentDTO;
+import com.mlcdev.employeeapi.exception.BadRequestException;
+import com.mlcdev.employeeapi.exception.BatchValidationException;
+import com.mlcdev.employeeapi.exception.ErrorResponses;
+import com.mlcdev.employeeapi.exception.FieldMessage;
+import com.mlcdev.employeeapi.event.ChangeType;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
 import com.mlcdev.employeeapi.exception.NotFoundException;
+import com.mlcdev.employeeapi.exception.PreconditionFailedException;
 import com.mlcdev.employeeapi.mapper.EmployeeMapper;
 import com.mlcdev.employeeapi.model.Employee;
 import com.mlcdev.employeeapi.repository.EmployeeRepository;
+import com.mlcdev.employeeapi.repository.EmployeeSpecifications;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class EmployeeService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+    private static final String CURSOR_PREFIX = "id:";
+    private static final BigDecimal MIN_PERCENT = BigDecimal.valueOf(-100);
+
     private final EmployeeRepository repository;
+    private final EntityManager entityManager;
+    private final EmployeeCache cache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final ColumnarEmployeeStore columnarStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchChunkSize;
 
-    public EmployeeService(EmployeeRepository repository) {
+    public EmployeeService(EmployeeRepository repository, EntityManager entityManager, EmployeeCache cache, NegativeLookupCache negativeLookupCache,
+                           ColumnarEmployeeStore columnarStore, ApplicationEventPublisher eventPublisher, @Value("${employee.batch.chunk-size:500}") int batchChunkSize) {
         this.repository = repository;
+        this.entityManager = entityManager;
+        this.cache = cache;
+        this.negativeLookupCache = negativeLookupCache;
+        this.columnarStore = columnarStore;
+        this.eventPublisher = eventPublisher;
+        this.batchChunkSize = batchChunkSize;
     }
 
-    @Transactional(readOnly = true)
     public EmployeeDTO findById(Long id){
+        return findOptionalById(id).orElseThrow(() -> new NotFoundException(ErrorResponses.employeeNotFound(id)));
+    }
+
+    public Optional<EmployeeDTO> findOptionalById(Long id){
         log.debug("Starting operation to find an employee with ID; {}",id);
-        EmployeeDTO dto = repository.findById(id).map(EmployeeMapper::toDTO).orElseThrow(() -> new NotFoundException("Employee with ID: " + id + " not found"));
-        log.info("Employee {} found with ID: {}",dto.getName(),dto.getId());
+        Optional<EmployeeDTO> cached = cache.get(id);
+        if(cached.isPresent()){
+            log.debug("Employee with ID: {} served from cache",id);
+            return cached;
+        }
+        if(negativeLookupCache.isMissing(id)){
+            log.debug("Employee with ID: {} recently not found",id);
+            return Optional.empty();
+        }
+        long loadStarted = System.nanoTime();
+        Optional<EmployeeDTO> dto = repository.findById(id).map(EmployeeMapper::toDTO);
+        if(!TransactionSynchronizationManager.isActualTransactionActive() || TransactionSynchronizationManager.isCurrentTransactionReadOnly()){
+            dto.ifPresentOrElse(found -> cache.put(found, loadStarted), () -> negativeLookupCache.markMissing(id));
+        }
+        dto.ifPresent(found -> log.info("Employee {} found with ID: {}",found.getName(),found.getId()));
         return dto;
     }
 
-    @Transactional(readOnly = true)
-    public Page<EmployeeDTO> findAll(Pageable pageable){
-        Page<Employee> result = repository.findAll(pageable);
+    public Page<EmployeeDTO> findAll(EmployeeFilter filter, Set<EmployeeField> fields, Pageable pageable){
+        if(columnarStore.isReady()){
+            Page<EmployeeDTO> result = columnarStore.findAll(filter, fields, pageable);
+            log.info("Page found in the columnar store with {} elements out of a total of: {}",result.getNumberOfElements(),result.getTotalElements());
+            return result;
+        }
+        Page<EmployeeDTO> result = repository.findAllProjected(EmployeeSpecifications.matching(filter), fields, pageable);
         log.info("Page found with {} elements out of a total of: {}",result.getNumberOfElements(),result.getTotalElements());
-        return result.map(EmployeeMapper::toDTO);
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<EmployeeDTO> scroll(String after, int size){
+        int pageSize = Math.clamp(size, 1, MAX_SCROLL_SIZE);
+        Long afterId = (after == null || after.isBlank()) ? 0L : decodeCursor(after);
+        Slice<Employee> result = repository.findByIdGreaterThan(afterId, PageRequest.of(0, pageSize, Sort.by("id")));
+        List<EmployeeDTO> content = result.map(EmployeeMapper::toDTO).getContent();
+        String next = result.hasNext() ? encodeCursor(content.getLast().getId()) : null;
+        log.info("Slice found with {} elements after ID: {}",content.size(),afterId);
+        return new CursorPageDTO<>(content, pageSize, result.hasNext(), next);
     }
 
     @Transactional
@@ -41,28 +127,167 @@ public class EmployeeService {
         Employee entity =EmployeeMapper.toEntity(dto);
         entity = repository.save(entity);
         EmployeeDTO savedDto = EmployeeMapper.toDTO(entity);
+        publish(ChangeType.CREATED, savedDto.getId(), null, savedDto);
         log.info("Employee {} saved with ID: {}",savedDto.getName(),savedDto.getId());
        return savedDto;
     }
 
     @Transactional
     public EmployeeDTO update(EmployeeDTO dto){
-        Employee entity = repository.findById(dto.getId()).orElseThrow(() -> new NotFoundException("The employee with id "+ dto.getId() +" does not exist"));
-        Employee updatedEntity = repository.save(EmployeeMapper.updateEntity(dto, entity));
+        Employee entity = repository.findById(dto.getId()).orElseThrow(() -> new NotFoundException(ErrorResponses.employeeNotFound(dto.getId())));
+        if(dto.getVersion() != null && !dto.getVersion().equals(entity.getVersion())){
+            throw new PreconditionFailedException("The employee with id "+ dto.getId() +" was modified by another request");
+        }
+        EmployeeDTO previous = EmployeeMapper.toDTO(entity);
+        Employee updatedEntity = repository.saveAndFlush(EmployeeMapper.updateEntity(dto, entity));
+        EmployeeDTO updatedDto = EmployeeMapper.toDTO(updatedEntity);
+        publish(ChangeType.UPDATED, updatedEntity.getId(), previous, updatedDto);
         log.info("Employee with ID: {}, updated",updatedEntity.getId());
-        return EmployeeMapper.toDTO(updatedEntity);
+        return updatedDto;
+    }
+
+    @Transactional
+    public EmployeeDTO patch(Long id, EmployeePatch patch, Long expectedVersion){
+        Employee entity = repository.findById(id).orElseThrow(() -> new NotFoundException(ErrorResponses.employeeNotFound(id)));
+        if(expectedVersion != null && !expectedVersion.equals(entity.getVersion())){
+            throw new PreconditionFailedException("The employee with id "+ id +" was modified by another request");
+        }
+        EmployeeDTO previous = EmployeeMapper.toDTO(entity);
+        EmployeeMapper.patchEntity(patch, entity);
+        Employee patchedEntity = repository.saveAndFlush(entity);
+        EmployeeDTO patchedDto = EmployeeMapper.toDTO(patchedEntity);
+        if(!patchedDto.getVersion().equals(previous.getVersion())){
+            publish(ChangeType.UPDATED, id, previous, patchedDto);
+        }
+        log.info("Employee with ID: {}, patched on {}",id,patch.fields());
+        return patchedDto;
+    }
+
+    /**
+     * Applies a percentage or a fixed amount to the salary of every employee matching the filter in a single
+     * UPDATE statement. Nothing is changed when any of them would be left without a positive salary.
+     */
+    @Transactional
+    public int adjustSalaries(EmployeeFilter filter, SalaryAdjustmentDTO adjustment){
+        if((adjustment.percent() == null) == (adjustment.amount() == null)){
+            throw new BadRequestException("Specify either a percent or an amount");
+        }
+        if(adjustment.percent() != null && adjustment.percent().compareTo(MIN_PERCENT) <= 0){
+            throw new BadRequestException("The percent must be greater than " + MIN_PERCENT);
+        }
+        BigDecimal factor = adjustment.percent() == null ? BigDecimal.ONE : BigDecimal.ONE.add(adjustment.percent().movePointLeft(2));
+        BigDecimal amount = adjustment.amount() == null ? BigDecimal.ZERO : adjustment.amount();
+        Specification<Employee> spec = EmployeeSpecifications.matching(filter);
+        long matched = repository.count(spec);
+        int updated = repository.adjustSalaries(spec.and(EmployeeSpecifications.salaryPositiveAfter(factor, amount)), factor, amount);
+        if(updated < matched){
+            String field = adjustment.amount() != null ? "amount" : "percent";
+            throw new BatchValidationException(List.of(new FieldMessage(field, "The adjustment would leave " + (matched - updated) + " employees without a positive salary")));
+        }
+        entityManager.clear();
+        if(updated > 0){
+            publish(ChangeType.BULK_UPDATED, null, null, null);
+        }
+        log.info("Salary adjustment {} applied to {} employees matching {}",adjustment,updated,filter);
+        return updated;
     }
 
     @Transactional
     public void delete(Long id){
-        verifyIfEmployeeExists(id);
-        repository.deleteById(id);
+        Employee entity = repository.findById(id).orElseThrow(() -> new NotFoundException(ErrorResponses.employeeNotFound(id)));
+        EmployeeDTO previous = EmployeeMapper.toDTO(entity);
+        repository.delete(entity);
+        publish(ChangeType.DELETED, id, previous, null);
         log.info("Employee with Id {} deleted",id);
     }
 
-    private void verifyIfEmployeeExists(Long id){
-        if(!repository.existsById(id)){
-            throw new NotFoundException("The employee with id "+ id +" does not exist");
+    @Transactional
+    public List<EmployeeDTO> addAll(List<EmployeeDTO> dtos){
+        List<EmployeeDTO> savedDtos = new ArrayList<>(dtos.size());
+        for (List<EmployeeDTO> chunk : chunks(dtos)) {
+            List<Employee> entities = repository.saveAll(chunk.stream().map(EmployeeMapper::toEntity).toList());
+            flushAndClear();
+            entities.forEach(entity -> {
+                EmployeeDTO savedDto = EmployeeMapper.toDTO(entity);
+                savedDtos.add(savedDto);
+                publish(ChangeType.CREATED, entity.getId(), null, savedDto);
+            });
+        }
+        log.info("{} employees saved in batch",savedDtos.size());
+        return savedDtos;
+    }
+
+    @Transactional
+    public List<EmployeeDTO> updateAll(List<EmployeeDTO> dtos){
+        List<EmployeeDTO> updatedDtos = new ArrayList<>(dtos.size());
+        for (List<EmployeeDTO> chunk : chunks(dtos)) {
+            Set<Long> ids = chunk.stream().map(EmployeeDTO::getId).collect(Collectors.toSet());
+            Map<Long, Employee> entities = repository.findAllById(ids).stream().collect(Collectors.toMap(Employee::getId, Function.identity()));
+            verifyIfAllEmployeesExist(ids, entities.keySet());
+            Map<Long, EmployeeDTO> previousDtos = entities.values().stream().collect(Collectors.toMap(Employee::getId, EmployeeMapper::toDTO));
+            chunk.forEach(dto -> EmployeeMapper.updateEntity(dto, entities.get(dto.getId())));
+            flushAndClear();
+            chunk.forEach(dto -> {
+                EmployeeDTO updatedDto = EmployeeMapper.toDTO(entities.get(dto.getId()));
+                updatedDtos.add(updatedDto);
+                publish(ChangeType.UPDATED, dto.getId(), previousDtos.get(dto.getId()), updatedDto);
+            });
+        }
+        log.info("{} employees updated in batch",updatedDtos.size());
+        return updatedDtos;
+    }
+
+    @Transactional
+    public void deleteAll(List<Long> ids){
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        for (List<Long> chunk : chunks(distinctIds)) {
+            List<EmployeeDTO> previousDtos = repository.findAllById(chunk).stream().map(EmployeeMapper::toDTO).toList();
+            verifyIfAllEmployeesExist(chunk, previousDtos.stream().map(EmployeeDTO::getId).toList());
+            repository.deleteAllByIdInBatch(chunk);
+            previousDtos.forEach(previous -> publish(ChangeType.DELETED, previous.getId(), previous, null));
+        }
+        entityManager.clear();
+        log.info("{} employees deleted in batch",distinctIds.size());
+    }
+
+    private void publish(ChangeType type, Long id, EmployeeDTO previous, EmployeeDTO current){
+        eventPublisher.publishEvent(new EmployeeChangedEvent(type, id, previous, current));
+    }
+
+    private <T> List<List<T>> chunks(List<T> items){
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < items.size(); start += batchChunkSize) {
+            chunks.add(items.subList(start, Math.min(start + batchChunkSize, items.size())));
+        }
+        return chunks;
+    }
+
+    private void flushAndClear(){
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String encodeCursor(Long id){
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor){
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if(!decoded.startsWith(CURSOR_PREFIX)){
+                throw new BadRequestException("Invalid cursor");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e){
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    private static void verifyIfAllEmployeesExist(Collection<Long> requestedIds, Collection<Long> foundIds){
+        Set<Long> missingIds = new HashSet<>(requestedIds);
+        missingIds.removeAll(foundIds);
+        if(!missingIds.isEmpty()){
+            throw new NotFoundException("The employees with ids "+ missingIds +" do not exist");
         }
     }
 }
@@ -0,0 +1,31 @@
+package com.mlcdev.employeeapi.service;
+
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public static ExportFormat fromContentType(String contentType){
+        for (ExportFormat format : values()) {
+            if(contentType != null && contentType.toLowerCase().startsWith(format.contentType)){
+                return format;
+            }
+        }
+        return NDJSON;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,158 @@
+package com.mlcdev.employeeapi.stats;
+
+import com.mlcdev.employeeapi.dto.PayrollStatsDTO;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import com.mlcdev.employeeapi.model.Role;
+import com.mlcdev.employeeapi.repository.EmployeeRepository;
+import com.mlcdev.employeeapi.routing.ReplicaRoutingDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.Consumer;
+
+@Slf4j
+@Component
+public class PayrollStatistics {
+
+    private static final int RELOAD_ATTEMPTS = 5;
+    private static final Duration RELOAD_RETRY_DELAY = Duration.ofMillis(100);
+
+    private final EmployeeRepository repository;
+
+    private PayrollSummary summary = new PayrollSummary();
+    private PayrollStatsDTO snapshot;
+    private long appliedChanges;
+    private final Set<EmployeeChangedEvent> committing = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public PayrollStatistics(EmployeeRepository repository) {
+        this.repository = repository;
+    }
+
+    public synchronized PayrollStatsDTO snapshot(){
+        if(snapshot == null){
+            snapshot = summary.toDTO();
+        }
+        return snapshot;
+    }
+
+    public synchronized void apply(EmployeeChangedEvent event){
+        if(event.previous() != null){
+            summary.remove(event.previous());
+        }
+        if(event.current() != null){
+            summary.add(event.current());
+        }
+        appliedChanges++;
+        snapshot = null;
+    }
+
+    /**
+     * Replaces the running totals with a recomputation taken while no change was committing or applied, retrying a
+     * few times; if changes keep arriving it replaces them anyway and leaves any drift to {@link #reconcile()}.
+     */
+    public void reload(){
+        for (int attempt = 1; attempt < RELOAD_ATTEMPTS; attempt++) {
+            if(recomputeWhenQuiet(this::replace)){
+                log.info("Payroll statistics loaded with a headcount of {}",snapshot().headcount());
+                return;
+            }
+            pause();
+        }
+        PayrollSummary recomputed = recompute();
+        synchronized (this){
+            replace(recomputed);
+        }
+        log.warn("Payroll statistics loaded with a headcount of {} while changes kept committing, the next reconciliation corrects any drift",
+                snapshot().headcount());
+    }
+
+    /**
+     * Compares the running totals with a full recomputation and replaces them when they drifted.
+     * Returns false, leaving the check for the next run, when any change was committing or applied between the
+     * start of the recomputation and the comparison: it may or may not be in the recomputed totals, so replacing
+     * could lose it or, once applied, count it twice.
+     */
+    public boolean reconcile(){
+        return recomputeWhenQuiet(recomputed -> {
+            PayrollStatsDTO expected = recomputed.toDTO();
+            if(!expected.equals(snapshot())){
+                log.warn("Payroll statistics drifted from the database, replacing {} with {}",snapshot(),expected);
+                replace(recomputed);
+            }
+        });
+    }
+
+    /**
+     * Recomputes the totals and passes them to {@code action} under the lock, unless a change was committing or
+     * applied in the meantime.
+     */
+    private boolean recomputeWhenQuiet(Consumer<PayrollSummary> action){
+        long changesBefore;
+        synchronized (this){
+            if(!committing.isEmpty()){
+                log.debug("Payroll statistics recomputation skipped, {} changes committing",committing.size());
+                return false;
+            }
+            changesBefore = appliedChanges;
+        }
+        PayrollSummary recomputed = recompute();
+        synchronized (this){
+            if(appliedChanges != changesBefore || !committing.isEmpty()){
+                log.debug("Payroll statistics recomputation skipped, {} changes applied and {} committing meanwhile",appliedChanges - changesBefore,committing.size());
+                return false;
+            }
+            action.accept(recomputed);
+            return true;
+        }
+    }
+
+    private static void pause(){
+        try {
+            Thread.sleep(RELOAD_RETRY_DELAY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Called before the transaction publishing {@code event} commits; until {@link #changeCompleted} the change may
+     * already be visible in the database without having been applied.
+     */
+    public synchronized void changeCommitting(EmployeeChangedEvent event){
+        committing.add(event);
+    }
+
+    public synchronized void changeCompleted(EmployeeChangedEvent event){
+        committing.remove(event);
+    }
+
+    private void replace(PayrollSummary recomputed){
+        summary = recomputed;
+        snapshot = null;
+        appliedChanges++;
+    }
+
+    /**
+     * Always reads the primary: totals recomputed from a lagging replica would replace accurate running totals.
+     */
+    private PayrollSummary recompute(){
+        return ReplicaRoutingDataSource.onPrimary(this::recomputeFromDatabase);
+    }
+
+    private PayrollSummary recomputeFromDatabase(){
+        PayrollSummary recomputed = new PayrollSummary();
+        for (Object[] row : repository.countByRoleAndSalary()) {
+            recomputed.addSalaries((Role) row[0], (BigDecimal) row[1], ((Number) row[2]).longValue());
+        }
+        for (Object[] row : repository.countHiresByMonth()) {
+            recomputed.addHires(YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue()), ((Number) row[2]).longValue());
+        }
+        return recomputed;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mlcdev.employeeapi.stats;
+
+import com.mlcdev.employeeapi.event.ChangeType;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class PayrollStatisticsListener {
+
+    private final PayrollStatistics statistics;
+    private final Executor executor;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    public PayrollStatisticsListener(PayrollStatistics statistics, @Qualifier("applicationTaskExecutor") Executor executor) {
+        this.statistics = statistics;
+        this.executor = executor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(){
+        statistics.reload();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event){
+        if(event.type() == ChangeType.BULK_UPDATED){
+            statistics.changeCompleted(event);
+            scheduleReload();
+            return;
+        }
+        log.debug("Applying {} of employee with ID: {} to payroll statistics",event.type(),event.id());
+        statistics.apply(event);
+    }
+
+    /**
+     * Reloads on the task executor instead of the committing request thread; bulk updates arriving before the
+     * pending reload started share it.
+     */
+    private void scheduleReload(){
+        if(reloadPending.compareAndSet(false, true)){
+            executor.execute(() -> {
+                reloadPending.set(false);
+                statistics.reload();
+            });
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEmployeeCommitting(EmployeeChangedEvent event){
+        statistics.changeCommitting(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION)
+    public void onEmployeeCompleted(EmployeeChangedEvent event){
+        statistics.changeCompleted(event);
+    }
+
+    @Scheduled(initialDelayString = "${employee.stats.reconcile-interval:15m}", fixedDelayString = "${employee.stats.reconcile-interval:15m}")
+    public void reconcile(){
+        statistics.reconcile();
+    }
+}
@@ -0,0 +1,94 @@
+package com.mlcdev.employeeapi.stats;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.PayrollStatsDTO;
+import com.mlcdev.employeeapi.dto.RoleStatsDTO;
+import com.mlcdev.employeeapi.model.Role;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mutable running totals per role and per hiring month. Salaries are kept as a sorted multiset so
+ * min/max survive removals without rescanning. Not thread-safe, guarded by {@link PayrollStatistics}.
+ */
+final class PayrollSummary {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final Map<Role, RoleSummary> roles = new EnumMap<>(Role.class);
+    private final TreeMap<YearMonth, Long> hiresPerMonth = new TreeMap<>();
+
+    void add(EmployeeDTO dto){
+        add(dto.getRole(), dto.getSalary(), YearMonth.from(dto.getHiringDate()), 1);
+    }
+
+    void remove(EmployeeDTO dto){
+        add(dto.getRole(), dto.getSalary(), YearMonth.from(dto.getHiringDate()), -1);
+    }
+
+    void addSalaries(Role role, BigDecimal salary, long count){
+        roles.computeIfAbsent(role, r -> new RoleSummary()).add(salary, count);
+    }
+
+    void addHires(YearMonth month, long count){
+        hiresPerMonth.merge(month, count, Long::sum);
+    }
+
+    private void add(Role role, BigDecimal salary, YearMonth month, long count){
+        RoleSummary summary = roles.computeIfAbsent(role, r -> new RoleSummary());
+        summary.add(salary, count);
+        if(summary.count == 0){
+            roles.remove(role);
+        }
+        if(hiresPerMonth.merge(month, count, Long::sum) == 0){
+            hiresPerMonth.remove(month);
+        }
+    }
+
+    PayrollStatsDTO toDTO(){
+        long headcount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        List<RoleStatsDTO> roleStats = new ArrayList<>(roles.size());
+        for (Map.Entry<Role, RoleSummary> entry : roles.entrySet()) {
+            RoleSummary summary = entry.getValue();
+            headcount += summary.count;
+            total = total.add(summary.total);
+            roleStats.add(new RoleStatsDTO(entry.getKey(), summary.count, money(summary.total), average(summary.total, summary.count),
+                    money(summary.salaries.firstKey()), money(summary.salaries.lastKey())));
+        }
+        Map<String, Long> hires = new LinkedHashMap<>();
+        hiresPerMonth.forEach((month, count) -> hires.put(month.toString(), count));
+        return new PayrollStatsDTO(headcount, money(total), average(total, headcount), List.copyOf(roleStats), hires);
+    }
+
+    private static BigDecimal money(BigDecimal value){
+        return value.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigDecimal average(BigDecimal total, long count){
+        return count == 0 ? null : total.divide(BigDecimal.valueOf(count), MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private static final class RoleSummary {
+
+        private long count;
+        private BigDecimal total = BigDecimal.ZERO;
+        private final TreeMap<BigDecimal, Long> salaries = new TreeMap<>();
+
+        private void add(BigDecimal salary, long delta){
+            count += delta;
+            total = total.add(salary.multiply(BigDecimal.valueOf(delta)));
+            if(salaries.merge(salary, delta, Long::sum) == 0){
+                salaries.remove(salary);
+            }
+        }
+    }
+}
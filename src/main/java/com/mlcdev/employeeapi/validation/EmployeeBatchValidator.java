@@ -0,0 +1,50 @@
+package com.mlcdev.employeeapi.validation;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.exception.BatchValidationException;
+import com.mlcdev.employeeapi.exception.FieldMessage;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class EmployeeBatchValidator {
+
+    private final Validator validator;
+
+    public EmployeeBatchValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    public void validateBatch(List<EmployeeDTO> dtos, boolean requireId){
+        List<FieldMessage> errors = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            errors.addAll(validate(dtos.get(i), "[" + i + "]", requireId));
+        }
+        if(!errors.isEmpty()){
+            throw new BatchValidationException(errors);
+        }
+    }
+
+    public List<FieldMessage> validate(EmployeeDTO dto, String prefix, boolean requireId){
+        List<FieldMessage> errors = new ArrayList<>();
+        if(dto == null){
+            errors.add(new FieldMessage(prefix, "The employee can't be null"));
+            return errors;
+        }
+        if(requireId && dto.getId() == null){
+            errors.add(new FieldMessage(fieldName(prefix, "id"), "The id can't be null"));
+        }
+        for (ConstraintViolation<EmployeeDTO> violation : validator.validate(dto)) {
+            errors.add(new FieldMessage(fieldName(prefix, violation.getPropertyPath().toString()), violation.getMessage()));
+        }
+        return errors;
+    }
+
+    private static String fieldName(String prefix, String field){
+        return prefix.isEmpty() ? field : prefix + "." + field;
+    }
+}
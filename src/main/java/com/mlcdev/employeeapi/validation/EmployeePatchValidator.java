@@ -0,0 +1,80 @@
+package com.mlcdev.employeeapi.validation;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.EmployeeField;
+import com.mlcdev.employeeapi.dto.EmployeePatch;
+import com.mlcdev.employeeapi.exception.BadRequestException;
+import com.mlcdev.employeeapi.exception.BatchValidationException;
+import com.mlcdev.employeeapi.exception.FieldMessage;
+import com.mlcdev.employeeapi.model.Role;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a JSON Merge Patch document into an {@link EmployeePatch}, validating only the fields it contains.
+ * A null member removes the value, so it fails the same way a missing field fails on a full update.
+ */
+@Component
+public class EmployeePatchValidator {
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public EmployeePatchValidator(Validator validator, ObjectMapper objectMapper) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    public EmployeePatch parse(JsonNode document){
+        if(document == null || !document.isObject()){
+            throw new BadRequestException("The patch must be a JSON object");
+        }
+        EmployeeDTO values = new EmployeeDTO();
+        Set<EmployeeField> fields = EnumSet.noneOf(EmployeeField.class);
+        List<FieldMessage> errors = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> member : document.properties()) {
+            EmployeeField field = EmployeeField.parse(List.of(member.getKey())).iterator().next();
+            if(field == EmployeeField.ID){
+                throw new BadRequestException("The id can't be changed");
+            }
+            Object value;
+            try {
+                value = member.getValue().isNull() ? null : objectMapper.treeToValue(member.getValue(), typeOf(field));
+            } catch (JacksonException e){
+                errors.add(new FieldMessage(field.getProperty(), "Invalid value for " + field.getProperty()));
+                continue;
+            }
+            for (ConstraintViolation<EmployeeDTO> violation : validator.validateValue(EmployeeDTO.class, field.getProperty(), value)) {
+                errors.add(new FieldMessage(field.getProperty(), violation.getMessage()));
+            }
+            field.set(values, value);
+            fields.add(field);
+        }
+        if(!errors.isEmpty()){
+            throw new BatchValidationException(errors);
+        }
+        return new EmployeePatch(values, fields);
+    }
+
+    private static Class<?> typeOf(EmployeeField field){
+        return switch (field) {
+            case NAME -> String.class;
+            case SALARY -> BigDecimal.class;
+            case HIRING_DATE -> LocalDate.class;
+            case ROLE -> Role.class;
+            case ID -> Long.class;
+        };
+    }
+}
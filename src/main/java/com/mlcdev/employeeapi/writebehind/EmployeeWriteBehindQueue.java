@@ -0,0 +1,238 @@
+package com.mlcdev.employeeapi.writebehind;
+
+import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.dto.WriteTicketDTO;
+import com.mlcdev.employeeapi.exception.WriteQueueFullException;
+import com.mlcdev.employeeapi.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind mode for single creates and updates. Accepted writes wait in a bounded in-memory queue and a
+ * single worker flushes them through {@link EmployeeService#addAll} and {@link EmployeeService#updateAll},
+ * one transaction per kind and flush. Updates to the same employee within a flush are coalesced, the last one wins.
+ * <p>
+ * Durability: a write is only durable once its ticket is COMPLETED. Writes still queued are lost if the
+ * process dies; on a graceful shutdown the worker drains the queue before the data source is closed.
+ */
+@Slf4j
+@Component
+public class EmployeeWriteBehindQueue {
+
+    private final EmployeeService service;
+    private final boolean enabled;
+    private final BlockingQueue<PendingWrite> queue;
+    private final long flushIntervalNanos;
+    private final int flushSize;
+    private final long ticketRetentionNanos;
+    private final Map<String, WriteTicket> tickets = new ConcurrentHashMap<>();
+    private final Counter completedWrites;
+    private final Counter failedWrites;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+    private long lastExpiryNanos = System.nanoTime();
+
+    public EmployeeWriteBehindQueue(EmployeeService service, MeterRegistry registry,
+                                    @Value("${employee.write-behind.enabled:false}") boolean enabled,
+                                    @Value("${employee.write-behind.capacity:10000}") int capacity,
+                                    @Value("${employee.write-behind.flush-interval:50ms}") Duration flushInterval,
+                                    @Value("${employee.write-behind.flush-size:500}") int flushSize,
+                                    @Value("${employee.write-behind.ticket-retention:10m}") Duration ticketRetention) {
+        this.service = service;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.flushSize = flushSize;
+        this.ticketRetentionNanos = ticketRetention.toNanos();
+        Gauge.builder("employeeapi.write_behind.queue.depth", queue, BlockingQueue::size).register(registry);
+        this.completedWrites = Counter.builder("employeeapi.write_behind.writes").tag("result", "completed").register(registry);
+        this.failedWrites = Counter.builder("employeeapi.write_behind.writes").tag("result", "failed").register(registry);
+        this.flushTimer = Timer.builder("employeeapi.write_behind.flush").register(registry);
+    }
+
+    @PostConstruct
+    public void start(){
+        if(enabled){
+            running = true;
+            worker = Thread.ofPlatform().name("employee-write-behind").start(this::run);
+            log.info("Write-behind enabled, flushing up to {} writes every {} ms",flushSize,TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if(worker != null){
+            running = false;
+            worker.join(Duration.ofSeconds(30));
+            log.info("Write-behind stopped with {} writes left in the queue",queue.size());
+        }
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    public WriteTicketDTO submitCreate(EmployeeDTO dto){
+        return submit(dto, false);
+    }
+
+    public WriteTicketDTO submitUpdate(EmployeeDTO dto){
+        return submit(dto, true);
+    }
+
+    public Optional<WriteTicketDTO> find(String ticket){
+        return Optional.ofNullable(tickets.get(ticket)).map(WriteTicket::toDTO);
+    }
+
+    private WriteTicketDTO submit(EmployeeDTO dto, boolean update){
+        WriteTicket ticket = new WriteTicket(UUID.randomUUID().toString(), update ? dto.getId() : null);
+        tickets.put(ticket.id(), ticket);
+        if(!queue.offer(new PendingWrite(ticket, dto, update))){
+            tickets.remove(ticket.id());
+            throw new WriteQueueFullException("Write queue is full, try again later");
+        }
+        return ticket.toDTO();
+    }
+
+    private void run(){
+        List<PendingWrite> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+                if(!batch.isEmpty()){
+                    flushTimer.record(() -> flush(batch));
+                    batch.clear();
+                }
+                expireTickets();
+            } catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e){
+                log.error("Write-behind worker error: {}",e.getMessage());
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if(first == null){
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < flushSize) {
+            queue.drainTo(batch, flushSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if(batch.size() >= flushSize || remaining <= 0 || !running){
+                return;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if(next == null){
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch){
+        List<PendingWrite> creates = new ArrayList<>();
+        Map<Long, List<PendingWrite>> updates = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            if(write.update()){
+                updates.computeIfAbsent(write.dto().getId(), id -> new ArrayList<>()).add(write);
+            } else {
+                creates.add(write);
+            }
+        }
+        flushCreates(creates);
+        flushUpdates(updates);
+        log.debug("Write-behind flushed {} creates and {} updates",creates.size(),updates.size());
+    }
+
+    private void flushCreates(List<PendingWrite> creates){
+        if(creates.isEmpty()){
+            return;
+        }
+        try {
+            List<EmployeeDTO> saved = service.addAll(creates.stream().map(PendingWrite::dto).toList());
+            for (int i = 0; i < creates.size(); i++) {
+                complete(creates.get(i).ticket(), saved.get(i).getId());
+            }
+        } catch (RuntimeException e){
+            log.warn("Write-behind batch of {} creates failed, retrying one by one: {}",creates.size(),e.getMessage());
+            for (PendingWrite write : creates) {
+                try {
+                    complete(write.ticket(), service.add(write.dto()).getId());
+                } catch (RuntimeException itemError){
+                    fail(write.ticket(), itemError);
+                }
+            }
+        }
+    }
+
+    private void flushUpdates(Map<Long, List<PendingWrite>> updates){
+        if(updates.isEmpty()){
+            return;
+        }
+        try {
+            service.updateAll(updates.values().stream().map(writes -> writes.getLast().dto()).toList());
+            updates.forEach((id, writes) -> writes.forEach(write -> complete(write.ticket(), id)));
+        } catch (RuntimeException e){
+            log.warn("Write-behind batch of {} updates failed, retrying one by one: {}",updates.size(),e.getMessage());
+            updates.forEach((id, writes) -> {
+                try {
+                    service.update(writes.getLast().dto());
+                    writes.forEach(write -> complete(write.ticket(), id));
+                } catch (RuntimeException itemError){
+                    writes.forEach(write -> fail(write.ticket(), itemError));
+                }
+            });
+        }
+    }
+
+    private void complete(WriteTicket ticket, Long employeeId){
+        ticket.complete(employeeId);
+        completedWrites.increment();
+    }
+
+    private void fail(WriteTicket ticket, RuntimeException e){
+        log.error("Write-behind ticket {} failed: {}",ticket.id(),e.getMessage());
+        ticket.fail(e.getMessage());
+        failedWrites.increment();
+    }
+
+    private void expireTickets(){
+        long now = System.nanoTime();
+        if(now - lastExpiryNanos < TimeUnit.SECONDS.toNanos(1)){
+            return;
+        }
+        lastExpiryNanos = now;
+        long expiredBefore = now - ticketRetentionNanos;
+        tickets.values().removeIf(ticket -> ticket.finishedBefore(expiredBefore));
+    }
+
+    private record PendingWrite(WriteTicket ticket, EmployeeDTO dto, boolean update) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.mlcdev.employeeapi.writebehind;
+
+public enum WriteStatus {
+    PENDING, COMPLETED, FAILED;
+}
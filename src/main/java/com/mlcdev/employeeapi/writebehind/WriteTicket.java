@@ -0,0 +1,44 @@
+package com.mlcdev.employeeapi.writebehind;
+
+import com.mlcdev.employeeapi.dto.WriteTicketDTO;
+
+final class WriteTicket {
+
+    private final String id;
+    private volatile WriteStatus status = WriteStatus.PENDING;
+    private volatile Long employeeId;
+    private volatile String error;
+    private volatile long completedAtNanos;
+
+    WriteTicket(String id, Long employeeId) {
+        this.id = id;
+        this.employeeId = employeeId;
+    }
+
+    String id() {
+        return id;
+    }
+
+    void complete(Long employeeId){
+        this.employeeId = employeeId;
+        finish(WriteStatus.COMPLETED);
+    }
+
+    void fail(String error){
+        this.error = error;
+        finish(WriteStatus.FAILED);
+    }
+
+    boolean finishedBefore(long nanos){
+        return status != WriteStatus.PENDING && completedAtNanos - nanos < 0;
+    }
+
+    WriteTicketDTO toDTO(){
+        return new WriteTicketDTO(id, status, employeeId, error);
+    }
+
+    private void finish(WriteStatus status){
+        this.completedAtNanos = System.nanoTime();
+        this.status = status;
+    }
+}
@@ -1,7 +1,7 @@
-INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE) VALUES (1, 'Luiz Pereira', 'INTERN', 2000.00, '2024-01-15');
-INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE) VALUES (2, 'Maria Silva', 'JUNIOR', 4500.50, '2023-05-20');
-INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE) VALUES (3, 'Carlos Oliveira', 'MID_LEVEL', 8200.00, '2022-08-14');
-INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE) VALUES (4, 'Fernanda Lima', 'SENIOR', 14000.00, '2021-02-01');
-INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE) VALUES (5, 'Roberto Souza', 'SENIOR', 15500.75, '2020-06-25');
+INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE, VERSION) VALUES (1, 'Luiz Pereira', 'INTERN', 2000.00, '2024-01-15', 0);
+INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE, VERSION) VALUES (2, 'Maria Silva', 'JUNIOR', 4500.50, '2023-05-20', 0);
+INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE, VERSION) VALUES (3, 'Carlos Oliveira', 'MID_LEVEL', 8200.00, '2022-08-14', 0);
+INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE, VERSION) VALUES (4, 'Fernanda Lima', 'SENIOR', 14000.00, '2021-02-01', 0);
+INSERT INTO TB_EMPLOYEE (ID, NAME, ROLE, SALARY, HIRING_DATE, VERSION) VALUES (5, 'Roberto Souza', 'SENIOR', 15500.75, '2020-06-25', 0);
 
-ALTER TABLE TB_EMPLOYEE ALTER COLUMN ID RESTART WITH 6;
\ No newline at end of file
+ALTER SEQUENCE TB_EMPLOYEE_SEQ RESTART WITH 6;
\ No newline at end of file
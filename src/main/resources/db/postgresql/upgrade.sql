@@ -0,0 +1,6 @@
+-- Runs on every prod start, after Hibernate's ddl-auto=update.
+-- Ids used to come from an IDENTITY column and now come from tb_employee_seq (pooled-lo, allocation size 50),
+-- which Hibernate creates starting at 1. Move it past the existing ids, but only when they lie beyond the block
+-- the sequence last handed out, so running instances never get an overlapping block.
+SELECT setval('tb_employee_seq', (SELECT max(id) + 1 FROM tb_employee), false)
+WHERE (SELECT coalesce(max(id), 0) FROM tb_employee) >= (SELECT last_value + 50 FROM tb_employee_seq);
@@ -1,31 +1,69 @@
 package com.mlcdev.employeeapi;
 
+import com.jayway.jsonpath.JsonPath;
+import com.mlcdev.employeeapi.cache.EmployeeCache;
+import com.mlcdev.employeeapi.cache.NegativeLookupCache;
+import com.mlcdev.employeeapi.columnar.ColumnarEmployeeStore;
+import com.mlcdev.employeeapi.columnar.ColumnarEmployeeStoreListener;
 import com.mlcdev.employeeapi.dto.EmployeeDTO;
+import com.mlcdev.employeeapi.event.ChangeType;
+import com.mlcdev.employeeapi.event.EmployeeChangedEvent;
+import com.mlcdev.employeeapi.filter.AdmissionControlFilter;
+import com.mlcdev.employeeapi.filter.ReadYourWritesFilter;
 import com.mlcdev.employeeapi.mapper.EmployeeMapper;
+import com.mlcdev.employeeapi.metrics.QueryCounter;
 import com.mlcdev.employeeapi.model.Employee;
 import com.mlcdev.employeeapi.model.Role;
 import com.mlcdev.employeeapi.repository.EmployeeRepository;
+import com.mlcdev.employeeapi.routing.ReplicaLagMonitor;
+import com.mlcdev.employeeapi.stats.PayrollStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.Cookie;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.MediaType;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
 
+import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -41,6 +79,20 @@ class EmployeeIntegrationTest {
     private ObjectMapper objectMapper;
     @Autowired
     private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EmployeeCache cache;
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+    @Autowired
+    private PayrollStatistics statistics;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ColumnarEmployeeStoreListener columnarStoreLoader;
+    @Autowired
+    private ColumnarEmployeeStore columnarStore;
 
     private EmployeeDTO.EmployeeDTOBuilder getBaseDTOBuilder() {
         return EmployeeDTO.builder().name("Name").salary(new BigDecimal("1.00")).role(Role.INTERN).hiringDate(LocalDate.of(2000, 1, 1));
@@ -60,9 +112,55 @@ class EmployeeIntegrationTest {
                 .andExpect(jsonPath(prefix + ".salary").value(dto.getSalary().doubleValue()));
     }
 
+    private void assertStatementsAtMost(long max, Executable action) throws Throwable {
+        QueryCounter.reset();
+        action.execute();
+        long statements = QueryCounter.count();
+        Assertions.assertTrue(statements <= max, () -> "Expected at most " + max + " statements but " + statements + " were issued");
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            String content = result.getResponse().getContentAsString();
+            if(content.contains(expected)){
+                return content;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Change feed did not receive " + expected + ": " + result.getResponse().getContentAsString());
+    }
+
+    private List<QueryCounter.Statement> recordStatements(Executable action) throws Throwable {
+        QueryCounter.startRecording();
+        try {
+            action.execute();
+        } catch (Throwable e) {
+            QueryCounter.stopRecording();
+            throw e;
+        }
+        return QueryCounter.stopRecording();
+    }
+
+    private List<String> sqlOf(Executable action) throws Throwable {
+        return recordStatements(action).stream().map(QueryCounter.Statement::sql).toList();
+    }
+
+    private void awaitCondition(Callable<Boolean> condition, String description) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if(condition.call()){
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Timed out waiting for " + description);
+    }
+
     @BeforeEach
     void setup() {
         jdbcTemplate.execute("TRUNCATE TABLE tb_employee RESTART IDENTITY");
+        cache.clear();
+        negativeLookupCache.clear();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
     }
 
     @Nested
@@ -72,9 +170,9 @@ class EmployeeIntegrationTest {
         void shouldCreateEmployee() throws Exception {
             EmployeeDTO inputDto = getBaseDTOBuilder().build();
             ResultActions resultActions = mockMvc.perform(post("/app/employee").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(inputDto))).andExpect(status().isCreated());
-            inputDto.setId(1L);
-            assertEmployeeBody(resultActions, "$", inputDto);
             Assertions.assertEquals(1, repository.count());
+            inputDto.setId(repository.findAll().getFirst().getId());
+            assertEmployeeBody(resultActions, "$", inputDto);
         }
 
         @Test
@@ -117,6 +215,1011 @@ class EmployeeIntegrationTest {
 
     }
 
+    @Nested
+    class Scroll {
+
+        @Test
+        void shouldScrollEmployeesUsingCursor() throws Exception {
+            EmployeeDTO dto0 = addBaseEmployeeToDataBase();
+            EmployeeDTO dto1 = addBaseEmployeeToDataBase();
+            EmployeeDTO dto2 = addBaseEmployeeToDataBase();
+
+            ResultActions firstSlice = mockMvc.perform(get("/app/employee/scroll").param("size", "2").contentType(MediaType.APPLICATION_JSON));
+            firstSlice.andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(2))).andExpect(jsonPath("$.hasNext").value(true));
+            assertEmployeeBody(firstSlice, "$.content[0]", dto0);
+            assertEmployeeBody(firstSlice, "$.content[1]", dto1);
+
+            MvcResult result = firstSlice.andReturn();
+            String next = JsonPath.read(result.getResponse().getContentAsString(), "$.next");
+            ResultActions secondSlice = mockMvc.perform(get("/app/employee/scroll").param("size", "2").param("after", next).contentType(MediaType.APPLICATION_JSON));
+            secondSlice.andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.hasNext").value(false)).andExpect(jsonPath("$.next").value(nullValue()));
+            assertEmployeeBody(secondSlice, "$.content[0]", dto2);
+        }
+
+        @Test
+        void shouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+            mockMvc.perform(get("/app/employee/scroll").param("after", "not-a-cursor").contentType(MediaType.APPLICATION_JSON)).andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    class Batch {
+
+        @Test
+        void shouldCreateEmployeesInBatch() throws Exception {
+            List<EmployeeDTO> inputDtos = List.of(getBaseDTOBuilder().build(), getBaseDTOBuilder().name("Name2").build());
+            mockMvc.perform(post("/app/employee/batch").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(inputDtos)))
+                    .andExpect(status().isCreated()).andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[1].name").value("Name2"));
+            Assertions.assertEquals(2, repository.count());
+        }
+
+        @Test
+        void shouldReportPerItemErrorsWhenBatchIsInvalid() throws Exception {
+            List<EmployeeDTO> inputDtos = List.of(getBaseDTOBuilder().build(), getBaseDTOBuilder().name(" ").build());
+            mockMvc.perform(post("/app/employee/batch").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(inputDtos)))
+                    .andExpect(status().isUnprocessableContent())
+                    .andExpect(jsonPath("$.errors", hasSize(1)))
+                    .andExpect(jsonPath("$.errors[0].fieldName").value("[1].name"));
+            Assertions.assertEquals(0, repository.count());
+        }
+
+        @Test
+        void shouldUpdateEmployeesInBatch() throws Exception {
+            EmployeeDTO dto0 = addBaseEmployeeToDataBase();
+            EmployeeDTO dto1 = addBaseEmployeeToDataBase();
+            dto0.setName("Updated0");
+            dto1.setRole(Role.SENIOR);
+            ResultActions resultActions = mockMvc.perform(put("/app/employee/batch").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(List.of(dto0, dto1))));
+            resultActions.andExpect(status().isOk());
+            assertEmployeeBody(resultActions, "$[0]", dto0);
+            assertEmployeeBody(resultActions, "$[1]", dto1);
+        }
+
+        @Test
+        void shouldDeleteEmployeesInBatch() throws Exception {
+            EmployeeDTO dto0 = addBaseEmployeeToDataBase();
+            EmployeeDTO dto1 = addBaseEmployeeToDataBase();
+            mockMvc.perform(delete("/app/employee/batch").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(List.of(dto0.getId(), dto1.getId()))))
+                    .andExpect(status().isNoContent());
+            Assertions.assertEquals(0, repository.count());
+        }
+
+        @Test
+        void shouldReturnNotFoundWhenBatchDeleteHasUnknownId() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(delete("/app/employee/batch").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(List.of(dto.getId(), 999_999L))))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class Export {
+
+        private String export(String format) throws Exception {
+            MvcResult result = mockMvc.perform(get("/app/employee/export").param("format", format)).andExpect(request().asyncStarted()).andReturn();
+            return mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        }
+
+        @Test
+        void shouldExportEmployeesAsNdjson() throws Exception {
+            EmployeeDTO dto0 = addBaseEmployeeToDataBase();
+            addBaseEmployeeToDataBase();
+            String[] lines = export("NDJSON").split("\n");
+            Assertions.assertEquals(2, lines.length);
+            EmployeeDTO exported = objectMapper.readValue(lines[0], EmployeeDTO.class);
+            Assertions.assertEquals(dto0.getId(), exported.getId());
+            Assertions.assertEquals(dto0.getName(), exported.getName());
+        }
+
+        @Test
+        void shouldExportEmployeesAsCsv() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            String[] lines = export("CSV").split("\n");
+            Assertions.assertEquals(2, lines.length);
+            Assertions.assertEquals("id,name,salary,hiringDate,role", lines[0]);
+            Assertions.assertEquals(dto.getId() + ",Name,1.00,2000-01-01,INTERN", lines[1]);
+        }
+    }
+
+    @Nested
+    class Import {
+
+        @Test
+        void shouldImportCsvAndReportRejectedLines() throws Exception {
+            String csv = """
+                    id,name,salary,hiringDate,role
+                    ,Ana,100.00,2024-01-01,JUNIOR
+                    ,"Silva, Bruno",-5,2024-01-01,SENIOR
+                    ,Carla,200.00,2024-02-01,DIRECTOR
+                    ,Diego,300.00,2024-03-01,SENIOR
+                    """;
+            mockMvc.perform(post("/app/employee/import").contentType("text/csv").content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accepted").value(2))
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.rejectedRows[0].line").value(3))
+                    .andExpect(jsonPath("$.rejectedRows[0].errors[0].fieldName").value("salary"))
+                    .andExpect(jsonPath("$.rejectedRows[1].line").value(4))
+                    .andExpect(jsonPath("$.rejectedRows[1].errors[0].fieldName").value("role"));
+            Assertions.assertEquals(2, repository.count());
+        }
+
+        @Test
+        void shouldImportNdjson() throws Exception {
+            String ndjson = objectMapper.writeValueAsString(getBaseDTOBuilder().build()) + "\n"
+                    + "{not json}\n"
+                    + objectMapper.writeValueAsString(getBaseDTOBuilder().name("Name2").build()) + "\n";
+            mockMvc.perform(post("/app/employee/import").contentType("application/x-ndjson").content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accepted").value(2))
+                    .andExpect(jsonPath("$.rejected").value(1))
+                    .andExpect(jsonPath("$.rejectedRows[0].line").value(2));
+            Assertions.assertEquals(2, repository.count());
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ReadThroughCache {
+
+        @Test
+        void shouldServeRepeatedFindByIdFromCache() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            long hitsBefore = cache.stats().hits();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+            ResultActions resultActions = mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+            assertEmployeeBody(resultActions, "$", dto);
+            Assertions.assertEquals(hitsBefore + 1, cache.stats().hits());
+        }
+
+        @Test
+        void shouldNotShareCachedInstancesWithCallers() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            cache.put(dto, System.nanoTime());
+            dto.setName("Changed");
+            cache.get(dto.getId()).orElseThrow().setName("Changed");
+            Assertions.assertEquals("Name", cache.get(dto.getId()).orElseThrow().getName());
+        }
+
+        @Test
+        void shouldDropPutOfEmployeeLoadedBeforeEviction() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            long loadStarted = System.nanoTime();
+            cache.evict(dto.getId());
+            cache.put(dto, loadStarted);
+            Assertions.assertTrue(cache.get(dto.getId()).isEmpty());
+            cache.put(dto, System.nanoTime());
+            Assertions.assertTrue(cache.get(dto.getId()).isPresent());
+        }
+
+        @Test
+        void shouldAnswerNotModifiedFromCacheWithoutLoadingTheEmployee() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            String eTag = mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk()).andReturn().getResponse().getHeader("ETag");
+            long missesBefore = cache.stats().misses();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified()).andExpect(content().string(""));
+            Assertions.assertEquals(missesBefore, cache.stats().misses());
+        }
+
+        @Test
+        void shouldEvictCachedEmployeeWhenUpdated() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+            dto.setName("Name2");
+            mockMvc.perform(put("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isOk());
+            ResultActions resultActions = mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+            assertEmployeeBody(resultActions, "$", dto);
+        }
+
+        @Test
+        void shouldEvictCachedEmployeeWhenDeleted() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+            mockMvc.perform(delete("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNoContent());
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class PayrollStats {
+
+        @BeforeEach
+        void reloadStatistics() {
+            statistics.reload();
+        }
+
+        private EmployeeDTO create(EmployeeDTO dto) throws Exception {
+            String body = mockMvc.perform(post("/app/employee").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+            return objectMapper.readValue(body, EmployeeDTO.class);
+        }
+
+        @Test
+        void shouldMaintainStatisticsOnAddUpdateAndDelete() throws Exception {
+            EmployeeDTO intern = create(getBaseDTOBuilder().salary(new BigDecimal("1000")).hiringDate(LocalDate.of(2020, 1, 10)).build());
+            EmployeeDTO promoted = create(getBaseDTOBuilder().salary(new BigDecimal("3000")).hiringDate(LocalDate.of(2020, 1, 20)).build());
+            EmployeeDTO senior = create(getBaseDTOBuilder().salary(new BigDecimal("5000")).role(Role.SENIOR).hiringDate(LocalDate.of(2020, 3, 1)).build());
+            promoted.setRole(Role.SENIOR);
+            promoted.setSalary(new BigDecimal("7000"));
+            mockMvc.perform(put("/app/employee/{id}", promoted.getId()).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(promoted)))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/app/employee/{id}", intern.getId())).andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/app/employee/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.headcount").value(2))
+                    .andExpect(jsonPath("$.totalSalary").value(12000.0))
+                    .andExpect(jsonPath("$.roles", hasSize(1)))
+                    .andExpect(jsonPath("$.roles[0].role").value("SENIOR"))
+                    .andExpect(jsonPath("$.roles[0].averageSalary").value(6000.0))
+                    .andExpect(jsonPath("$.roles[0].minSalary").value(senior.getSalary().doubleValue()))
+                    .andExpect(jsonPath("$.roles[0].maxSalary").value(7000.0))
+                    .andExpect(jsonPath("$.hiresPerMonth['2020-01']").value(1))
+                    .andExpect(jsonPath("$.hiresPerMonth['2020-03']").value(1));
+            Assertions.assertTrue(statistics.reconcile());
+            Assertions.assertEquals(2, statistics.snapshot().headcount());
+        }
+
+        @Test
+        void shouldReconcileChangesMadeOutsideTheService() throws Exception {
+            jdbcTemplate.update("INSERT INTO tb_employee (id, name, salary, hiring_date, role, version) " +
+                    "VALUES (NEXT VALUE FOR tb_employee_seq, 'Name', 2000.00, DATE '2021-05-10', 'JUNIOR', 0)");
+            mockMvc.perform(get("/app/employee/stats")).andExpect(status().isOk()).andExpect(jsonPath("$.headcount").value(0));
+
+            Assertions.assertTrue(statistics.reconcile());
+
+            mockMvc.perform(get("/app/employee/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.headcount").value(1))
+                    .andExpect(jsonPath("$.roles[0].role").value("JUNIOR"))
+                    .andExpect(jsonPath("$.hiresPerMonth['2021-05']").value(1));
+        }
+
+        @Test
+        void shouldSkipReconciliationWhileAChangeIsCommitting() throws Exception {
+            jdbcTemplate.update("INSERT INTO tb_employee (id, name, salary, hiring_date, role, version) " +
+                    "VALUES (NEXT VALUE FOR tb_employee_seq, 'Name', 1.00, DATE '2000-01-01', 'INTERN', 0)");
+            EmployeeDTO dto = getBaseDTOBuilder().id(jdbcTemplate.queryForObject("SELECT max(id) FROM tb_employee", Long.class)).build();
+            EmployeeChangedEvent event = new EmployeeChangedEvent(ChangeType.CREATED, dto.getId(), null, dto);
+            statistics.changeCommitting(event);
+
+            Assertions.assertFalse(statistics.reconcile());
+            Assertions.assertEquals(0, statistics.snapshot().headcount());
+
+            statistics.apply(event);
+            statistics.changeCompleted(event);
+            Assertions.assertTrue(statistics.reconcile());
+            Assertions.assertEquals(1, statistics.snapshot().headcount());
+        }
+    }
+
+    @Nested
+    class ConditionalRequests {
+
+        @Test
+        void shouldReturnETagWithEmployee() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk()).andExpect(header().string("ETag", "\"" + dto.getId() + "-0\""));
+        }
+
+        @Test
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).header("If-None-Match", "\"" + dto.getId() + "-0\""))
+                    .andExpect(status().isNotModified());
+        }
+
+        @Test
+        void shouldUpdateWhenIfMatchIsCurrent() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            dto.setName("Name2");
+            mockMvc.perform(put("/app/employee/{id}", dto.getId()).header("If-Match", "\"" + dto.getId() + "-0\"")
+                            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isOk()).andExpect(header().string("ETag", "\"" + dto.getId() + "-1\""));
+        }
+
+        @Test
+        void shouldReturnPreconditionFailedWhenIfMatchIsStale() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            dto.setName("Name2");
+            mockMvc.perform(put("/app/employee/{id}", dto.getId()).header("If-Match", "\"" + dto.getId() + "-5\"")
+                            .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isPreconditionFailed());
+            Assertions.assertEquals("Name", repository.findById(dto.getId()).orElseThrow().getName());
+        }
+    }
+
+    @Nested
+    class Filtering {
+
+        private EmployeeDTO addEmployee(String name, Role role, String salary, LocalDate hiringDate) {
+            return EmployeeMapper.toDTO(repository.save(EmployeeMapper.toEntity(getBaseDTOBuilder().name(name).role(role).salary(new BigDecimal(salary)).hiringDate(hiringDate).build())));
+        }
+
+        /**
+         * Runs the list request, takes the page query Hibernate generated from the specifications and checks the
+         * plan of that exact SQL, with its bound values inlined so H2 can plan the range and prefix conditions.
+         */
+        private void assertListQueryUsesIndex(String param, String value, String index) throws Throwable {
+            List<QueryCounter.Statement> statements = recordStatements(() -> mockMvc.perform(get("/app/employee").param(param, value)).andExpect(status().isOk()));
+            QueryCounter.Statement query = statements.stream()
+                    .filter(statement -> statement.sql().toLowerCase().startsWith("select") && statement.sql().toLowerCase().contains(" where "))
+                    .findFirst().orElseThrow(() -> new AssertionError("No filtered select in " + statements));
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + inlineParameters(query), String.class);
+            Assertions.assertTrue(plan.toUpperCase().contains(index), () -> "Expected " + index + " in plan: " + plan);
+        }
+
+        private String inlineParameters(QueryCounter.Statement statement) {
+            StringBuilder sql = new StringBuilder();
+            int parameter = 0;
+            for (char c : statement.sql().toCharArray()) {
+                sql.append(c == '?' ? literal(statement.parameters().get(parameter++)) : String.valueOf(c));
+            }
+            return sql.toString();
+        }
+
+        private String literal(Object value) {
+            return switch (value) {
+                case null -> "NULL";
+                case Number number -> number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString();
+                case LocalDate date -> "DATE '" + date + "'";
+                case java.sql.Date date -> "DATE '" + date + "'";
+                default -> "'" + value.toString().replace("'", "''") + "'";
+            };
+        }
+
+        @Test
+        void shouldFilterByRoleAndSalaryRange() throws Exception {
+            addEmployee("Ana", Role.JUNIOR, "3000.00", LocalDate.of(2020, 1, 1));
+            EmployeeDTO match = addEmployee("Bruno", Role.JUNIOR, "5000.00", LocalDate.of(2021, 1, 1));
+            addEmployee("Carla", Role.SENIOR, "5000.00", LocalDate.of(2022, 1, 1));
+
+            ResultActions resultActions = mockMvc.perform(get("/app/employee").param("role", "JUNIOR").param("minSalary", "4000").param("maxSalary", "6000"));
+            resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(1)));
+            assertEmployeeBody(resultActions, "$.content[0]", match);
+        }
+
+        @Test
+        void shouldFilterByHiringDateAndNamePrefix() throws Exception {
+            addEmployee("Ana Souza", Role.INTERN, "1000.00", LocalDate.of(2020, 1, 1));
+            EmployeeDTO match = addEmployee("Ana Lima", Role.INTERN, "1000.00", LocalDate.of(2022, 6, 1));
+            addEmployee("Bruna Lima", Role.INTERN, "1000.00", LocalDate.of(2022, 6, 1));
+            addEmployee("Ana_Costa", Role.INTERN, "1000.00", LocalDate.of(2022, 6, 1));
+
+            ResultActions resultActions = mockMvc.perform(get("/app/employee").param("namePrefix", "Ana ").param("hiredAfter", "2021-01-01").param("hiredBefore", "2023-01-01"));
+            resultActions.andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(1)));
+            assertEmployeeBody(resultActions, "$.content[0]", match);
+        }
+
+        @Test
+        void shouldReturnUnprocessableContentWhenFilterIsInvalid() throws Exception {
+            mockMvc.perform(get("/app/employee").param("role", "DIRECTOR")).andExpect(status().isUnprocessableContent());
+        }
+
+        @Test
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            EmployeeDTO match = addEmployee("Ana", Role.JUNIOR, "3000.00", LocalDate.of(2020, 1, 1));
+
+            mockMvc.perform(get("/app/employee").param("role", "JUNIOR").param("fields", "id,name,role"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id").value(match.getId()))
+                    .andExpect(jsonPath("$.content[0].name").value("Ana"))
+                    .andExpect(jsonPath("$.content[0].role").value("JUNIOR"))
+                    .andExpect(jsonPath("$.content[0].salary").doesNotExist())
+                    .andExpect(jsonPath("$.content[0].hiringDate").doesNotExist());
+        }
+
+        @Test
+        void shouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+            mockMvc.perform(get("/app/employee").param("fields", "id,password")).andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldUseIndexesForFilterColumns() throws Throwable {
+            addEmployee("Ana", Role.JUNIOR, "3000.00", LocalDate.of(2020, 1, 1));
+            assertListQueryUsesIndex("role", "JUNIOR", "IDX_EMPLOYEE_ROLE");
+            assertListQueryUsesIndex("hiredAfter", "2021-01-01", "IDX_EMPLOYEE_HIRING_DATE");
+            assertListQueryUsesIndex("minSalary", "1000", "IDX_EMPLOYEE_SALARY");
+            assertListQueryUsesIndex("namePrefix", "An", "IDX_EMPLOYEE_NAME");
+        }
+    }
+
+    @Nested
+    class Metrics {
+
+        private long layerCount(String layer, String method) {
+            Timer timer = meterRegistry.find("employeeapi.layer").tag("layer", layer).tag("method", method).tag("exception", "none").timer();
+            return timer == null ? 0 : timer.count();
+        }
+
+        private long responseSizeCount() {
+            DistributionSummary summary = meterRegistry.find("employeeapi.response.size").tag("uri", "/app/employee/{id}").tag("status", "200").summary();
+            return summary == null ? 0 : summary.count();
+        }
+
+        @Test
+        void shouldTimeLayersAndRecordResponseSize() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            long serviceBefore = layerCount("service", "findOptionalById");
+            long repositoryBefore = layerCount("repository", "findById");
+            long responsesBefore = responseSizeCount();
+
+            mockMvc.perform(get("/app/employee/{id}", dto.getId())).andExpect(status().isOk());
+
+            Assertions.assertEquals(serviceBefore + 1, layerCount("service", "findOptionalById"));
+            Assertions.assertEquals(repositoryBefore + 1, layerCount("repository", "findById"));
+            Assertions.assertEquals(responsesBefore + 1, responseSizeCount());
+            Assertions.assertTrue(meterRegistry.get("employeeapi.response.size").tag("uri", "/app/employee/{id}").tag("status", "200").summary().max() > 0);
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class StatementBudget {
+
+        @Test
+        void shouldUpdateWithAtMostTwoStatements() throws Throwable {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            dto.setName("Name2");
+            String body = objectMapper.writeValueAsString(dto);
+            assertStatementsAtMost(2, () -> mockMvc.perform(put("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk()));
+        }
+
+        @Test
+        void shouldDeleteWithAtMostTwoStatements() throws Throwable {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            assertStatementsAtMost(2, () -> mockMvc.perform(delete("/app/employee/{id}", dto.getId())).andExpect(status().isNoContent()));
+        }
+
+        @Test
+        void shouldServeCachedEmployeeWithoutStatements() throws Throwable {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee/{id}", dto.getId())).andExpect(status().isOk());
+            assertStatementsAtMost(0, () -> mockMvc.perform(get("/app/employee/{id}", dto.getId())).andExpect(status().isOk()));
+        }
+
+        @Test
+        void shouldAnswerRepeatedMissWithoutStatements() throws Throwable {
+            mockMvc.perform(get("/app/employee/{id}", 999999)).andExpect(status().isNotFound());
+            assertStatementsAtMost(0, () -> mockMvc.perform(get("/app/employee/{id}", 999999))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error").value("Employee with ID: 999999 not found")));
+        }
+
+        @Test
+        void shouldCreateBatchWithAtMostTwoStatements() throws Throwable {
+            List<EmployeeDTO> dtos = IntStream.range(0, 10).mapToObj(i -> getBaseDTOBuilder().name("Name" + i).build()).toList();
+            String body = objectMapper.writeValueAsString(dtos);
+            assertStatementsAtMost(2, () -> mockMvc.perform(post("/app/employee/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated()));
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class ChangeFeed {
+
+        @Test
+        void shouldStreamCommittedChangesToSubscribers() throws Exception {
+            MvcResult result = mockMvc.perform(get("/app/employee/changes")).andExpect(request().asyncStarted()).andReturn();
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(delete("/app/employee/{id}", dto.getId())).andExpect(status().isNoContent());
+
+            String content = awaitContent(result, "event:deleted");
+
+            Assertions.assertTrue(content.contains("event:created"));
+            Assertions.assertTrue(content.contains("\"id\":" + dto.getId()));
+        }
+
+        @Test
+        void shouldSendSnapshotWhenResumingFromAnUnknownSequence() throws Exception {
+            addBaseEmployeeToDataBase();
+            addBaseEmployeeToDataBase();
+            MvcResult result = mockMvc.perform(get("/app/employee/changes").header("Last-Event-ID", "1")).andExpect(request().asyncStarted()).andReturn();
+
+            String content = awaitContent(result, "event:snapshot-complete");
+
+            Assertions.assertEquals(2, content.split("event:snapshot\n", -1).length - 1);
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class SecondLevelCache {
+
+        @Test
+        void shouldServeRepeatedFindByIdFromSecondLevelCache() throws Throwable {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            repository.findById(dto.getId());
+            long hitsBefore = entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics("employee").getHitCount();
+
+            assertStatementsAtMost(0, () -> Assertions.assertTrue(repository.findById(dto.getId()).isPresent()));
+
+            Assertions.assertTrue(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics("employee").getHitCount() > hitsBefore);
+        }
+
+        @Test
+        void shouldServeRepeatedPageQueryFromQueryCache() throws Throwable {
+            addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee")).andExpect(status().isOk());
+            assertStatementsAtMost(0, () -> mockMvc.perform(get("/app/employee")).andExpect(status().isOk()).andExpect(jsonPath("$.content", hasSize(1))));
+        }
+
+        @Test
+        void shouldInvalidateCachedEmployeeOnUpdateAndDelete() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            repository.findById(dto.getId());
+            dto.setName("Name2");
+            mockMvc.perform(put("/app/employee/{id}", dto.getId()).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isOk());
+            Assertions.assertEquals("Name2", repository.findById(dto.getId()).orElseThrow().getName());
+            mockMvc.perform(get("/app/employee")).andExpect(jsonPath("$.content[0].name").value("Name2"));
+
+            mockMvc.perform(delete("/app/employee/{id}", dto.getId())).andExpect(status().isNoContent());
+            Assertions.assertTrue(repository.findById(dto.getId()).isEmpty());
+            mockMvc.perform(get("/app/employee")).andExpect(jsonPath("$.content", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TestPropertySource(properties = {"employee.write-behind.enabled=true", "employee.write-behind.flush-interval=10ms",
+            "spring.datasource.url=jdbc:h2:mem:writebehinddb"})
+    class WriteBehind {
+
+        private String awaitWrite(String location) throws Exception {
+            String path = URI.create(location).getPath();
+            for (int attempt = 0; attempt < 100; attempt++) {
+                String body = mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+                String status = JsonPath.read(body, "$.status");
+                if(!"PENDING".equals(status)){
+                    return body;
+                }
+                Thread.sleep(50);
+            }
+            throw new AssertionError("Write " + location + " is still pending");
+        }
+
+        @Test
+        void shouldAcceptCreateAndFlushItInTheBackground() throws Exception {
+            String location = mockMvc.perform(post("/app/employee").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(getBaseDTOBuilder().build())))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.status").value("PENDING"))
+                    .andReturn().getResponse().getHeader("Location");
+
+            String body = awaitWrite(location);
+
+            String status = JsonPath.read(body, "$.status");
+            Assertions.assertEquals("COMPLETED", status);
+            Number id = JsonPath.read(body, "$.employeeId");
+            mockMvc.perform(get("/app/employee/{id}", id.longValue())).andExpect(status().isOk()).andExpect(jsonPath("$.name").value("Name"));
+        }
+
+        @Test
+        void shouldReportFailedUpdateOfMissingEmployee() throws Exception {
+            String location = mockMvc.perform(put("/app/employee/{id}", 999999).contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(getBaseDTOBuilder().build())))
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getHeader("Location");
+
+            String body = awaitWrite(location);
+
+            String status = JsonPath.read(body, "$.status");
+            String error = JsonPath.read(body, "$.error");
+            Assertions.assertEquals("FAILED", status);
+            Assertions.assertEquals("Employee with ID: 999999 not found", error);
+        }
+    }
+
+    @Nested
+    class Idempotency {
+
+        @Test
+        void shouldReplayFirstResponseForRetriedCreate() throws Exception {
+            String key = UUID.randomUUID().toString();
+            String body = objectMapper.writeValueAsString(getBaseDTOBuilder().build());
+            String first = mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                    .andReturn().getResponse().getContentAsString();
+            Number id = JsonPath.read(first, "$.id");
+
+            mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(header().exists("Location"))
+                    .andExpect(jsonPath("$.id").value(id.longValue()));
+
+            Assertions.assertEquals(1, repository.count());
+        }
+
+        @Test
+        void shouldScopeKeysByClient() throws Exception {
+            String key = UUID.randomUUID().toString();
+            String body = objectMapper.writeValueAsString(getBaseDTOBuilder().build());
+            mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).header("X-Client-Id", "first").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).header("X-Client-Id", "second").contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(getBaseDTOBuilder().name("Other").build())))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                    .andExpect(jsonPath("$.name").value("Other"));
+            mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).header("X-Client-Id", "first").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.name").value("Name"));
+
+            Assertions.assertEquals(2, repository.count());
+        }
+
+        @Test
+        void shouldRejectKeyReusedWithDifferentBody() throws Exception {
+            String key = UUID.randomUUID().toString();
+            mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(getBaseDTOBuilder().build()))).andExpect(status().isCreated());
+
+            mockMvc.perform(post("/app/employee").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(getBaseDTOBuilder().name("Other").build())))
+                    .andExpect(status().isUnprocessableContent());
+
+            Assertions.assertEquals(1, repository.count());
+        }
+    }
+
+    @Nested
+    class WireFormat {
+
+        private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+        private final CBORMapper cborMapper = CBORMapper.builder().build();
+
+        @Test
+        void shouldReturnEmployeeAsCborWhenAccepted() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            byte[] body = mockMvc.perform(get("/app/employee/{id}", dto.getId()).accept(CBOR))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            EmployeeDTO decoded = cborMapper.readValue(body, EmployeeDTO.class);
+            Assertions.assertEquals(dto.getId(), decoded.getId());
+            Assertions.assertEquals(dto.getName(), decoded.getName());
+            Assertions.assertEquals(0, dto.getSalary().compareTo(decoded.getSalary()));
+        }
+
+        @Test
+        void shouldReturnErrorAsCborWhenAccepted() throws Exception {
+            byte[] body = mockMvc.perform(get("/app/employee/{id}", 999).accept(CBOR))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().contentTypeCompatibleWith(CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode error = cborMapper.readTree(body);
+            Assertions.assertEquals(404, error.get("status").asInt());
+            Assertions.assertEquals("Employee with ID: 999 not found", error.get("error").asString());
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TestPropertySource(properties = {"employee.columnar.enabled=true", "spring.datasource.url=jdbc:h2:mem:columnardb"})
+    class ColumnarStore {
+
+        @BeforeEach
+        void reloadStore() {
+            columnarStoreLoader.reload();
+        }
+
+        @Test
+        void shouldServeFilteredAndSortedPagesWithoutQueries() throws Throwable {
+            repository.save(EmployeeMapper.toEntity(getBaseDTOBuilder().name("Ana").salary(new BigDecimal("5000.00")).role(Role.SENIOR).build()));
+            repository.save(EmployeeMapper.toEntity(getBaseDTOBuilder().name("Bia").salary(new BigDecimal("7000.00")).role(Role.SENIOR).build()));
+            repository.save(EmployeeMapper.toEntity(getBaseDTOBuilder().name("Caio").salary(new BigDecimal("9000.00")).role(Role.JUNIOR).build()));
+            columnarStoreLoader.reload();
+
+            assertStatementsAtMost(0, () -> mockMvc.perform(get("/app/employee").param("role", "SENIOR").param("sort", "salary,desc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(2)))
+                    .andExpect(jsonPath("$.content[0].name").value("Bia"))
+                    .andExpect(jsonPath("$.content[0].salary").value(7000.0))
+                    .andExpect(jsonPath("$.content[1].name").value("Ana")));
+        }
+
+        @Test
+        void shouldFollowCommittedCreatesAndDeletes() throws Exception {
+            String body = mockMvc.perform(post("/app/employee").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(getBaseDTOBuilder().name("Dani").build())))
+                    .andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+            Number id = JsonPath.read(body, "$.id");
+            mockMvc.perform(get("/app/employee").param("namePrefix", "Da")).andExpect(jsonPath("$.content", hasSize(1)));
+
+            mockMvc.perform(delete("/app/employee/{id}", id.longValue())).andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/app/employee").param("namePrefix", "Da")).andExpect(jsonPath("$.content", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TestPropertySource(properties = {"employee.replica.enabled=true", "spring.datasource.url=jdbc:h2:mem:routingprimarydb",
+            "employee.replica.datasource.jdbc-url=jdbc:h2:mem:routingreplicadb;DB_CLOSE_DELAY=-1", "employee.replica.datasource.username=sa"})
+    class ReadReplica {
+
+        @Autowired
+        @Qualifier("replicaDataSource")
+        private DataSource replicaDataSource;
+        @Autowired
+        private ReplicaLagMonitor lagMonitor;
+
+        private JdbcTemplate replicaJdbcTemplate;
+
+        @BeforeEach
+        void copySchemaToReplica() {
+            replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+            replicaJdbcTemplate.execute("DROP ALL OBJECTS");
+            jdbcTemplate.queryForList("SCRIPT NODATA TABLE tb_employee", String.class).stream()
+                    .filter(statement -> !statement.startsWith("--"))
+                    .forEach(replicaJdbcTemplate::execute);
+            lagMonitor.check();
+        }
+
+        @Test
+        void shouldServeReadOnlyQueriesFromReplica() throws Exception {
+            addBaseEmployeeToDataBase();
+            replicaJdbcTemplate.update("insert into tb_employee (id, name, salary, hiring_date, role, version) values (100, 'Replica', 1.00, date '2000-01-01', 'INTERN', 0)");
+
+            mockMvc.perform(get("/app/employee").header("X-Client-Id", "reader"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].name").value("Replica"));
+            mockMvc.perform(get("/app/employee/{id}", 100).header("X-Client-Id", "reader"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").value("Replica"));
+        }
+
+        @Test
+        void shouldReadOwnWritesFromPrimary() throws Exception {
+            mockMvc.perform(post("/app/employee").header("X-Client-Id", "writer").contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(getBaseDTOBuilder().build()))).andExpect(status().isCreated());
+
+            mockMvc.perform(get("/app/employee").header("X-Client-Id", "other")).andExpect(jsonPath("$.content", hasSize(0)));
+            mockMvc.perform(get("/app/employee").header("X-Client-Id", "writer")).andExpect(jsonPath("$.content", hasSize(1)));
+        }
+
+        @Test
+        void shouldHonorWritesReportedByOtherInstances() throws Exception {
+            addBaseEmployeeToDataBase();
+            mockMvc.perform(post("/app/employee").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(getBaseDTOBuilder().build())))
+                    .andExpect(header().exists(ReadYourWritesFilter.LAST_WRITE))
+                    .andExpect(cookie().exists(ReadYourWritesFilter.LAST_WRITE));
+
+            mockMvc.perform(get("/app/employee").header("X-Client-Id", "elsewhere")
+                            .cookie(new Cookie(ReadYourWritesFilter.LAST_WRITE, String.valueOf(System.currentTimeMillis()))))
+                    .andExpect(jsonPath("$.content", hasSize(2)));
+            mockMvc.perform(get("/app/employee").header("X-Client-Id", "elsewhere")
+                            .header(ReadYourWritesFilter.LAST_WRITE, String.valueOf(System.currentTimeMillis() - 60_000)))
+                    .andExpect(jsonPath("$.content", hasSize(0)));
+        }
+
+        @Test
+        void shouldReadChangeFeedSnapshotFromPrimaryWhenReplicaLags() throws Exception {
+            addBaseEmployeeToDataBase();
+            MvcResult result = mockMvc.perform(get("/app/employee/changes").header("Last-Event-ID", "1").header("X-Client-Id", "feed"))
+                    .andExpect(request().asyncStarted()).andReturn();
+
+            String content = awaitContent(result, "event:snapshot-complete");
+
+            Assertions.assertEquals(1, content.split("event:snapshot\n", -1).length - 1);
+            Assertions.assertEquals(0, replicaJdbcTemplate.queryForObject("select count(*) from tb_employee", Integer.class));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = {"employee.rate-limit.enabled=true", "employee.rate-limit.capacity=5",
+            "employee.rate-limit.refill-per-second=0.1", "employee.rate-limit.rows-per-token=10", "employee.rate-limit.address-multiplier=4",
+            "spring.datasource.url=jdbc:h2:mem:ratelimitdb"})
+    class RateLimit {
+
+        @Test
+        void shouldThrottleClientThatExhaustedItsBucket() throws Exception {
+            mockMvc.perform(get("/app/employee").param("size", "20").header("X-Client-Id", "greedy")).andExpect(status().isOk());
+
+            mockMvc.perform(get("/app/employee").param("size", "20").header("X-Client-Id", "greedy"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().exists("Retry-After"))
+                    .andExpect(jsonPath("$.status").value(429));
+
+            mockMvc.perform(get("/app/employee").param("size", "20").header("X-Client-Id", "polite")).andExpect(status().isOk());
+            Assertions.assertEquals(1.0, meterRegistry.get("employeeapi.rate_limit.throttled").tag("endpoint", "list").counter().count());
+        }
+
+        @Test
+        void shouldChargeOneTokenForSingleReads() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            for (int i = 0; i < 5; i++) {
+                mockMvc.perform(get("/app/employee/{id}", dto.getId()).header("X-Client-Id", "reader")).andExpect(status().isOk());
+            }
+            mockMvc.perform(get("/app/employee/{id}", dto.getId()).header("X-Client-Id", "reader")).andExpect(status().isTooManyRequests());
+        }
+
+        @Test
+        void shouldLimitRotatingClientIdsByAddress() throws Exception {
+            for (int i = 0; i < 4; i++) {
+                mockMvc.perform(get("/app/employee").param("size", "40").header("X-Client-Id", "rotating-" + i).with(fromAddress("10.0.0.1")))
+                        .andExpect(status().isOk());
+            }
+
+            mockMvc.perform(get("/app/employee").param("size", "40").header("X-Client-Id", "rotating-4").with(fromAddress("10.0.0.1")))
+                    .andExpect(status().isTooManyRequests());
+            mockMvc.perform(get("/app/employee").param("size", "40").header("X-Client-Id", "rotating-4").with(fromAddress("10.0.0.2")))
+                    .andExpect(status().isOk());
+        }
+
+        private RequestPostProcessor fromAddress(String address) {
+            return request -> {
+                request.setRemoteAddr(address);
+                return request;
+            };
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TestPropertySource(properties = {"employee.admission.enabled=true", "employee.admission.max-concurrent-requests=1",
+            "employee.admission.acquire-timeout=10ms", "spring.datasource.url=jdbc:h2:mem:admissiondb"})
+    class AdmissionControl {
+
+        @Autowired
+        private AdmissionControlFilter admissionControlFilter;
+
+        @Test
+        void shouldRejectRequestsWhileSaturatedAndHoldPermitUntilExportCompletes() throws Exception {
+            addBaseEmployeeToDataBase();
+            mockMvc.perform(get("/app/employee")).andExpect(status().isOk());
+            Assertions.assertEquals(1, admissionControlFilter.availablePermits());
+
+            MvcResult export = mockMvc.perform(get("/app/employee/export")).andExpect(request().asyncStarted()).andReturn();
+            Assertions.assertEquals(0, admissionControlFilter.availablePermits());
+            long rejectedBefore = admissionControlFilter.rejectedCount();
+
+            mockMvc.perform(get("/app/employee"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.status").value(503));
+            Assertions.assertEquals(rejectedBefore + 1, admissionControlFilter.rejectedCount());
+
+            mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+            Assertions.assertEquals(1, admissionControlFilter.availablePermits());
+            mockMvc.perform(get("/app/employee")).andExpect(status().isOk());
+        }
+
+        @Test
+        void shouldNotHoldPermitsForChangeFeedSubscriptions() throws Exception {
+            mockMvc.perform(get("/app/employee/changes")).andExpect(request().asyncStarted());
+
+            Assertions.assertEquals(1, admissionControlFilter.availablePermits());
+            mockMvc.perform(get("/app/employee")).andExpect(status().isOk());
+        }
+
+        @Test
+        void shouldReleasePermitWhenRequestFails() throws Exception {
+            mockMvc.perform(get("/app/employee/{id}", 999L)).andExpect(status().isNotFound());
+
+            Assertions.assertEquals(1, admissionControlFilter.availablePermits());
+        }
+    }
+
+    @Nested
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @TestPropertySource(properties = {"employee.columnar.enabled=true", "spring.datasource.url=jdbc:h2:mem:columnardb"})
+    class Patch {
+
+        @BeforeEach
+        void reloadDerivedState() {
+            columnarStoreLoader.reload();
+            statistics.reload();
+        }
+
+        @Test
+        void shouldPatchOnlySuppliedFields() throws Throwable {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            List<String> statements = sqlOf(() -> mockMvc.perform(patch("/app/employee/{id}", dto.getId()).contentType("application/merge-patch+json").content("{\"salary\": 2500.00}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + dto.getId() + "-1\""))
+                    .andExpect(jsonPath("$.salary").value(2500.00))
+                    .andExpect(jsonPath("$.name").value(dto.getName()))
+                    .andExpect(jsonPath("$.role").value(dto.getRole().name())));
+
+            List<String> updates = statements.stream().filter(sql -> sql.toLowerCase().startsWith("update")).toList();
+            Assertions.assertEquals(1, updates.size(), () -> "Expected one UPDATE in " + statements);
+            String update = updates.getFirst().toLowerCase();
+            Assertions.assertTrue(update.contains("salary") && update.contains("version"), update);
+            Assertions.assertFalse(update.contains("name") || update.contains("role") || update.contains("hiring_date"), update);
+        }
+
+        @Test
+        void shouldNotUpdateWhenPatchChangesNothing() throws Throwable {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            List<String> statements = sqlOf(() -> mockMvc.perform(patch("/app/employee/{id}", dto.getId()).contentType("application/merge-patch+json").content("{\"salary\": 1.00, \"role\": \"INTERN\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + dto.getId() + "-0\"")));
+
+            Assertions.assertTrue(statements.stream().noneMatch(sql -> sql.toLowerCase().startsWith("update")), statements::toString);
+            Assertions.assertEquals(0L, jdbcTemplate.queryForObject("select version from tb_employee where id = ?", Long.class, dto.getId()));
+        }
+
+        @Test
+        void shouldValidateOnlySuppliedFields() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(patch("/app/employee/{id}", dto.getId()).contentType("application/merge-patch+json").content("{\"salary\": -1}"))
+                    .andExpect(status().isUnprocessableContent())
+                    .andExpect(jsonPath("$.errors", hasSize(1)))
+                    .andExpect(jsonPath("$.errors[0].fieldName").value("salary"));
+            mockMvc.perform(patch("/app/employee/{id}", dto.getId()).contentType("application/merge-patch+json").content("{\"id\": 99}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldAdjustSalariesOfFilteredEmployeesInOneStatement() throws Throwable {
+            EmployeeDTO intern0 = addBaseEmployeeToDataBase();
+            EmployeeDTO intern1 = addBaseEmployeeToDataBase();
+            EmployeeDTO senior = EmployeeMapper.toDTO(repository.save(EmployeeMapper.toEntity(getBaseDTOBuilder().role(Role.SENIOR).build())));
+            columnarStoreLoader.reload();
+            statistics.reload();
+            mockMvc.perform(get("/app/employee/{id}", intern0.getId())).andExpect(status().isOk());
+            Assertions.assertTrue(cache.get(intern0.getId()).isPresent());
+            MvcResult feed = mockMvc.perform(get("/app/employee/changes")).andExpect(request().asyncStarted()).andReturn();
+
+            assertStatementsAtMost(2, () -> mockMvc.perform(patch("/app/employee").param("role", "INTERN").contentType(MediaType.APPLICATION_JSON).content("{\"percent\": 10}"))
+                    .andExpect(status().isOk()).andExpect(jsonPath("$.updated").value(2)));
+
+            for (EmployeeDTO intern : List.of(intern0, intern1)) {
+                Assertions.assertEquals(0, new BigDecimal("1.10").compareTo(jdbcTemplate.queryForObject("select salary from tb_employee where id = ?", BigDecimal.class, intern.getId())));
+            }
+            Assertions.assertEquals(0, new BigDecimal("1.00").compareTo(jdbcTemplate.queryForObject("select salary from tb_employee where id = ?", BigDecimal.class, senior.getId())));
+            Assertions.assertTrue(cache.get(intern0.getId()).isEmpty());
+            awaitCondition(() -> new BigDecimal("3.20").compareTo(statistics.snapshot().totalSalary()) == 0, "payroll statistics reload");
+            mockMvc.perform(get("/app/employee").param("role", "INTERN"))
+                    .andExpect(jsonPath("$.content[*].salary", contains(1.1, 1.1)));
+            awaitCondition(columnarStore::isReady, "columnar store reload");
+            mockMvc.perform(get("/app/employee").param("role", "INTERN"))
+                    .andExpect(jsonPath("$.content[*].salary", contains(1.1, 1.1)));
+            assertStatementsAtMost(0, () -> mockMvc.perform(get("/app/employee").param("role", "INTERN")).andExpect(jsonPath("$.content", hasSize(2))));
+            String content = awaitContent(feed, "event:bulk_updated");
+            Assertions.assertEquals(1, content.split("event:bulk_updated", -1).length - 1);
+        }
+
+        @Test
+        void shouldRejectAdjustmentWithoutFilter() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            mockMvc.perform(patch("/app/employee").contentType(MediaType.APPLICATION_JSON).content("{\"percent\": 10}"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(patch("/app/employee").param("namePrefix", " ").contentType(MediaType.APPLICATION_JSON).content("{\"percent\": 10}"))
+                    .andExpect(status().isBadRequest());
+            Assertions.assertEquals(0, new BigDecimal("1.00").compareTo(jdbcTemplate.queryForObject("select salary from tb_employee where id = ?", BigDecimal.class, dto.getId())));
+        }
+
+        @Test
+        void shouldRejectAdjustmentLeavingSalaryNotPositive() throws Exception {
+            EmployeeDTO dto = addBaseEmployeeToDataBase();
+            EmployeeDTO richer = EmployeeMapper.toDTO(repository.save(EmployeeMapper.toEntity(getBaseDTOBuilder().salary(new BigDecimal("5.00")).build())));
+            mockMvc.perform(patch("/app/employee").param("role", "INTERN").contentType(MediaType.APPLICATION_JSON).content("{\"amount\": -1.00}"))
+                    .andExpect(status().isUnprocessableContent())
+                    .andExpect(jsonPath("$.errors[0].fieldName").value("amount"));
+            Assertions.assertEquals(0, new BigDecimal("1.00").compareTo(jdbcTemplate.queryForObject("select salary from tb_employee where id = ?", BigDecimal.class, dto.getId())));
+            Assertions.assertEquals(0, new BigDecimal("5.00").compareTo(jdbcTemplate.queryForObject("select salary from tb_employee where id = ?", BigDecimal.class, richer.getId())));
+        }
+    }
+
     @Nested
     class Validation{
         @Test